@@ -1,6 +1,12 @@
 package com.inventoryapp;
 
+import com.inventoryapp.dao.InventoryMirror;
+import com.inventoryapp.dao.InventoryWriter;
+import com.inventoryapp.service.AsyncInventoryService;
+import com.inventoryapp.service.BackupService;
+import com.inventoryapp.service.LedgerCompactor;
 import com.inventoryapp.util.DBUtils;
+import com.inventoryapp.util.DatabaseConfig;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -17,6 +23,22 @@ public class Main extends Application {
 
     private static Stage mainStage;
 
+    private final LedgerCompactor ledgerCompactor = new LedgerCompactor();
+    private final BackupService backupService = new BackupService();
+
+    @Override
+    public void init() {
+        // Create tables and open the connection pool before the first screen loads
+        // Never run on a half-migrated schema
+        if (!DBUtils.initializeDatabase()) {
+            DBUtils.shutdown();
+            throw new IllegalStateException("Database initialization failed; see the error above.");
+        }
+        InventoryMirror.startIfEnabled();
+        ledgerCompactor.start(DatabaseConfig.getLong("db.ledger.compactIntervalMinutes", 60));
+        backupService.start(DatabaseConfig.getLong("db.backup.intervalMinutes", 360));
+    }
+
     @Override
     public void start(Stage primaryStage) throws IOException {
         Stage stage = new Stage();
@@ -43,6 +65,17 @@ public class Main extends Application {
         mainStage.setTitle(title);
     }
 
+    @Override
+    public void stop() {
+        // Let queued database work finish before the pool closes
+        ledgerCompactor.stop();
+        backupService.stop();
+        InventoryMirror.shutdown();
+        AsyncInventoryService.shutdown();
+        InventoryWriter.shutdownInstance();
+        DBUtils.shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -1,7 +1,12 @@
 package com.inventoryapp.controller;
 
 import com.inventoryapp.dao.InventoryDAO;
-import com.inventoryapp.model.InventoryItem;
+import com.inventoryapp.model.ItemListRow;
+import com.inventoryapp.model.InventoryStats;
+import com.inventoryapp.service.AsyncInventoryService;
+import com.inventoryapp.service.AsyncInventoryService.RequestSlot;
+import com.inventoryapp.service.InventoryPager;
+import com.inventoryapp.service.InventoryService;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
@@ -13,6 +18,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
@@ -33,19 +39,19 @@ public class DashboardController {
 
     // Inventory Table Elements
     @FXML
-    private TableView<InventoryItem> inventoryTable;
+    private TableView<ItemListRow> inventoryTable;
     @FXML
-    private TableColumn<InventoryItem, Integer> idColumn;
+    private TableColumn<ItemListRow, Integer> idColumn;
     @FXML
-    private TableColumn<InventoryItem, String> productColumn;
+    private TableColumn<ItemListRow, String> productColumn;
     @FXML
-    private TableColumn<InventoryItem, String> categoryColumn;
+    private TableColumn<ItemListRow, String> categoryColumn;
     @FXML
-    private TableColumn<InventoryItem, Integer> stockColumn;
+    private TableColumn<ItemListRow, Integer> stockColumn;
     @FXML
-    private TableColumn<InventoryItem, Double> priceColumn;
+    private TableColumn<ItemListRow, Double> priceColumn;
     @FXML
-    private TableColumn<InventoryItem, String> statusColumn;
+    private TableColumn<ItemListRow, String> statusColumn;
 
     @FXML
     private ComboBox<String> itemsPerPageCombo;
@@ -77,9 +83,20 @@ public class DashboardController {
     private Label outOfStockLabel;
 
     private InventoryDAO inventoryDAO;
+    private InventoryPager inventoryPager;
+    private AsyncInventoryService inventoryService;
+
+    // Table contents come from either a page or a search; whichever was asked for last wins
+    private final RequestSlot<List<ItemListRow>> tableRequest = new RequestSlot<>();
+    private final RequestSlot<Integer> pageCountRequest = new RequestSlot<>();
+    private final RequestSlot<InventoryService.ServiceResult<InventoryStats>> statsRequest = new RequestSlot<>();
+    // Set while search results are shown, so page count changes don't load a page over them
+    private boolean searching;
 
     public DashboardController() {
         this.inventoryDAO = new InventoryDAO();
+        this.inventoryPager = new InventoryPager(inventoryDAO, 10);
+        this.inventoryService = new AsyncInventoryService(inventoryDAO);
     }
 
     // === Page Navigation ===
@@ -212,6 +229,9 @@ public class DashboardController {
         // Initialize table columns
         initializeTableColumns();
 
+        // Page the table through the pager instead of loading every item
+        setupPagination();
+
         // Load inventory data
         loadInventoryData();
 
@@ -243,22 +263,65 @@ public class DashboardController {
         });
     }
 
+    private void setupPagination() {
+        inventoryPagination.setPageFactory(this::showInventoryPage);
+
+        if (itemsPerPageCombo != null) {
+            itemsPerPageCombo.valueProperty().addListener((observable, oldValue, newValue) -> {
+                if (newValue != null) {
+                    inventoryPager.setPageSize(Integer.parseInt(newValue));
+                    refreshPagination();
+                }
+            });
+        }
+    }
+
+    // The table sits outside the Pagination control, so the page node is just a placeholder
+    private Node showInventoryPage(int pageIndex) {
+        if (searching) {
+            return new Region();
+        }
+        tableRequest.submit(inventoryService.getPage(inventoryPager, pageIndex),
+                rows -> inventoryTable.setItems(FXCollections.observableArrayList(rows)),
+                error -> System.err.println("Failed to load inventory page: " + error.getMessage()));
+        return new Region();
+    }
+
+    private void refreshPagination() {
+        searching = false;
+        pageCountRequest.submit(inventoryService.refreshPageCount(inventoryPager), pageCount -> {
+            // A new page count makes the Pagination call the page factory itself
+            boolean reloaded = pageCount != inventoryPagination.getPageCount();
+            inventoryPagination.setPageCount(pageCount);
+            if (inventoryPagination.getCurrentPageIndex() != 0) {
+                inventoryPagination.setCurrentPageIndex(0);
+            } else if (!reloaded) {
+                showInventoryPage(0);
+            }
+        }, error -> System.err.println("Failed to count inventory pages: " + error.getMessage()));
+    }
+
     private void loadInventoryData() {
-        List<InventoryItem> items = inventoryDAO.getAllItems();
-        inventoryTable.setItems(FXCollections.observableArrayList(items));
-        updateStatsCards(items);
+        refreshPagination();
+        updateStatsCards();
+    }
+
+    private void updateStatsCards() {
+        statsRequest.submit(inventoryService.getInventoryStats(), this::showStats,
+                error -> System.err.println("Failed to load inventory stats: " + error.getMessage()));
     }
 
-    private void updateStatsCards(List<InventoryItem> items) {
-        int totalItems = items.size();
-        int lowStock = (int) items.stream().filter(item -> item.getQuantity() < 5 && item.getQuantity() > 0).count();
-        int outOfStock = (int) items.stream().filter(item -> item.getQuantity() == 0).count();
-        double totalValue = items.stream().mapToDouble(item -> item.getQuantity() * item.getPrice()).sum();
+    private void showStats(InventoryService.ServiceResult<InventoryStats> result) {
+        if (!result.isSuccess()) {
+            System.err.println("Failed to load inventory stats: " + result.getMessage());
+            return;
+        }
+        InventoryStats stats = result.getData();
 
-        totalItemsLabel.setText(String.valueOf(totalItems));
-        lowStockLabel.setText(String.valueOf(lowStock));
-        outOfStockLabel.setText(String.valueOf(outOfStock));
-        totalValueLabel.setText(String.format("Rs%.2f", totalValue));
+        totalItemsLabel.setText(String.valueOf(stats.getTotalItems()));
+        lowStockLabel.setText(String.valueOf(stats.getLowStockItems()));
+        outOfStockLabel.setText(String.valueOf(stats.getOutOfStockItems()));
+        totalValueLabel.setText(String.format("Rs%.2f", stats.getTotalValue()));
     }
 
     private void setupSearch() {
@@ -266,8 +329,13 @@ public class DashboardController {
             if (newValue.isEmpty()) {
                 loadInventoryData();
             } else {
-                List<InventoryItem> filteredItems = inventoryDAO.searchItemsByName(newValue);
-                inventoryTable.setItems(FXCollections.observableArrayList(filteredItems));
+                // Each keystroke supersedes the previous search and any pending page load
+                searching = true;
+                pageCountRequest.cancel();
+                tableRequest.submit(inventoryService.searchItemRows(newValue), filteredItems -> {
+                    inventoryPagination.setPageCount(1);
+                    inventoryTable.setItems(FXCollections.observableArrayList(filteredItems));
+                }, error -> System.err.println("Search failed: " + error.getMessage()));
             }
         });
     }
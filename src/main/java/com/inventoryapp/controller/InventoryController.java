@@ -1,7 +1,10 @@
 package com.inventoryapp.controller;
 
+import com.inventoryapp.dao.DuplicateNameException;
 import com.inventoryapp.dao.InventoryDAO;
 import com.inventoryapp.model.InventoryItem;
+import com.inventoryapp.service.AsyncInventoryService;
+import com.inventoryapp.service.AsyncInventoryService.RequestSlot;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -11,6 +14,7 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.MouseEvent;
 
 import java.net.URL;
+import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
@@ -44,13 +48,18 @@ public class InventoryController implements Initializable {
     
     @FXML private Label statusLabel;
     
-    private InventoryDAO inventoryDAO;
+    private AsyncInventoryService inventoryService;
     private ObservableList<InventoryItem> itemsList;
     private InventoryItem selectedItem;
     
+    // Table loads and writes run off the FX thread; a newer load replaces an older one
+    private final RequestSlot<List<InventoryItem>> itemsRequest = new RequestSlot<>();
+    private final RequestSlot<Boolean> writeRequest = new RequestSlot<>();
+    private final RequestSlot<Integer> addRequest = new RequestSlot<>();
+    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        inventoryDAO = new InventoryDAO();
+        inventoryService = new AsyncInventoryService(new InventoryDAO());
         itemsList = FXCollections.observableArrayList();
         
         setupTableColumns();
@@ -114,13 +123,26 @@ public class InventoryController implements Initializable {
         
         InventoryItem newItem = createItemFromForm();
         
-        if (inventoryDAO.addItem(newItem)) {
-            showStatus("Item added successfully!", "success");
-            loadAllItems();
-            handleClearForm();
-        } else {
-            showStatus("Failed to add item!", "error");
-        }
+        setFormBusy(true);
+        addRequest.submit(inventoryService.addItem(newItem), id -> {
+            setFormBusy(false);
+            if (id > 0) {
+                // Set here on the FX thread; the writer never modifies the item
+                newItem.setId(id);
+                showStatus("Item added successfully!", "success");
+                loadAllItems();
+                handleClearForm();
+            } else {
+                showStatus("Failed to add item!", "error");
+            }
+        }, error -> {
+            setFormBusy(false);
+            if (error instanceof DuplicateNameException) {
+                showStatus("An item with this name already exists!", "error");
+            } else {
+                showStatus("Failed to add item!", "error");
+            }
+        });
     }
     
     @FXML
@@ -134,16 +156,33 @@ public class InventoryController implements Initializable {
             return;
         }
         
+        // Send the stock change as a delta so adjustments made elsewhere since loading are kept
+        int quantityDelta = Integer.parseInt(quantityField.getText().trim()) - selectedItem.getQuantity();
+        
         // Update the selected item with new values
         updateItemFromForm(selectedItem);
         
-        if (inventoryDAO.updateItem(selectedItem)) {
-            showStatus("Item updated successfully!", "success");
+        setFormBusy(true);
+        writeRequest.submit(inventoryService.updateItem(selectedItem, quantityDelta), updated -> {
+            setFormBusy(false);
+            if (updated) {
+                showStatus("Item updated successfully!", "success");
+                loadAllItems();
+                handleClearForm();
+            } else {
+                showStatus("Failed to update item!", "error");
+            }
+        }, error -> {
+            setFormBusy(false);
+            if (error instanceof DuplicateNameException) {
+                showStatus("Another item with this name already exists!", "error");
+            } else if (error instanceof IllegalStateException) {
+                showStatus(error.getMessage(), "error");
+            } else {
+                showStatus("Failed to update item!", "error");
+            }
             loadAllItems();
-            handleClearForm();
-        } else {
-            showStatus("Failed to update item!", "error");
-        }
+        });
     }
     
     @FXML
@@ -161,13 +200,20 @@ public class InventoryController implements Initializable {
         
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (inventoryDAO.deleteItem(selectedItem.getId())) {
-                showStatus("Item deleted successfully!", "success");
-                loadAllItems();
-                handleClearForm();
-            } else {
+            setFormBusy(true);
+            writeRequest.submit(inventoryService.deleteItem(selectedItem.getId()), deleted -> {
+                setFormBusy(false);
+                if (deleted) {
+                    showStatus("Item deleted successfully!", "success");
+                    loadAllItems();
+                    handleClearForm();
+                } else {
+                    showStatus("Failed to delete item!", "error");
+                }
+            }, error -> {
+                setFormBusy(false);
                 showStatus("Failed to delete item!", "error");
-            }
+            });
         }
     }
     
@@ -195,16 +241,26 @@ public class InventoryController implements Initializable {
         if (searchTerm.isEmpty()) {
             loadAllItems();
         } else {
-            itemsList.clear();
-            itemsList.addAll(inventoryDAO.searchItemsByName(searchTerm));
-            showStatus("Search completed. Found " + itemsList.size() + " items.", "info");
+            itemsRequest.submit(inventoryService.searchItems(searchTerm), items -> {
+                itemsList.setAll(items);
+                showStatus("Search completed. Found " + itemsList.size() + " items.", "info");
+            }, error -> showStatus("Search failed!", "error"));
         }
     }
     
     private void loadAllItems() {
-        itemsList.clear();
-        itemsList.addAll(inventoryDAO.getAllItems());
-        showStatus("Loaded " + itemsList.size() + " items.", "info");
+        showStatus("Loading items...", "info");
+        itemsRequest.submit(inventoryService.getAllItems(), items -> {
+            itemsList.setAll(items);
+            showStatus("Loaded " + itemsList.size() + " items.", "info");
+        }, error -> showStatus("Failed to load items!", "error"));
+    }
+    
+    // Block the write buttons while a write is in flight so it is not submitted twice
+    private void setFormBusy(boolean busy) {
+        addButton.setDisable(busy);
+        updateButton.setDisable(busy || selectedItem == null);
+        deleteButton.setDisable(busy || selectedItem == null);
     }
     
     private boolean validateForm() {
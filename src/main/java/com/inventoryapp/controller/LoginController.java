@@ -55,63 +55,63 @@ public class LoginController implements Initializable {
             loginStatusLabel.setText(""); // Clear error
         }
 
-        try {
-            Connection conn = DBUtils.getConnection(); //connect to SQLite DB
-            String sql = "SELECT * FROM users WHERE username=? AND password=? AND role=?";
-            PreparedStatement stmt = conn.prepareStatement(sql);
+        String userRole = null;
+        String sql = "SELECT role FROM users WHERE username=? AND password=? AND role=?";
+        try (Connection conn = DBUtils.getConnection(); //connect to SQLite DB
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, password);
             stmt.setString(3, selectedRole.toUpperCase()); 
 
-            ResultSet rs = stmt.executeQuery();
-
-            if(rs.next()){
-                String userRole = rs.getString("role");
-                loginStatusLabel.setText("Login successful!");
-                
-                // Navigate to appropriate dashboard based on role
-                try {
-                    String fxmlPath;
-                    String windowTitle;
-                    
-                    if ("ADMIN".equals(userRole)) {
-                        fxmlPath = "/fxml/view/dashboard_admin.fxml";
-                        windowTitle = "Inventory Management - Admin Dashboard";
-                    } else {
-                        fxmlPath = "/fxml/view/dashboard_staff.fxml";
-                        windowTitle = "Inventory Management - Staff Dashboard";
-                    }
-                    
-                    // Load dashboard FXML
-                    FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-                    Parent dashboardRoot = loader.load();
-                    
-                    // Create new scene
-                    Scene dashboardScene = new Scene(dashboardRoot);
-                    
-                    // Get current stage
-                    Stage currentStage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-                    
-                    // Set new scene and update window title
-                    currentStage.setScene(dashboardScene);
-                    currentStage.setTitle(windowTitle);
-                    currentStage.centerOnScreen();
-                    
-                } catch (IOException e) {
-                    e.printStackTrace();
-                    loginStatusLabel.setText("Error loading dashboard: " + e.getMessage());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    userRole = rs.getString("role");
                 }
-            } else {
-                loginStatusLabel.setText("Invalid username, password, or role.");
             }
-
-            rs.close();
-            stmt.close();
-            conn.close();  
-            
         } catch (Exception e) {
             e.printStackTrace();
             loginStatusLabel.setText("DB Error:"+ e.getMessage());
+            return;
+        }
+
+        // Connection is already back in the pool before the dashboard starts querying
+        if(userRole != null){
+            loginStatusLabel.setText("Login successful!");
+            
+            // Navigate to appropriate dashboard based on role
+            try {
+                String fxmlPath;
+                String windowTitle;
+                
+                if ("ADMIN".equals(userRole)) {
+                    fxmlPath = "/fxml/view/dashboard_admin.fxml";
+                    windowTitle = "Inventory Management - Admin Dashboard";
+                } else {
+                    fxmlPath = "/fxml/view/dashboard_staff.fxml";
+                    windowTitle = "Inventory Management - Staff Dashboard";
+                }
+                
+                // Load dashboard FXML
+                FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
+                Parent dashboardRoot = loader.load();
+                
+                // Create new scene
+                Scene dashboardScene = new Scene(dashboardRoot);
+                
+                // Get current stage
+                Stage currentStage = (Stage) ((Node) event.getSource()).getScene().getWindow();
+                
+                // Set new scene and update window title
+                currentStage.setScene(dashboardScene);
+                currentStage.setTitle(windowTitle);
+                currentStage.centerOnScreen();
+                
+            } catch (IOException e) {
+                e.printStackTrace();
+                loginStatusLabel.setText("Error loading dashboard: " + e.getMessage());
+            }
+        } else {
+            loginStatusLabel.setText("Invalid username, password, or role.");
         }
      }
 
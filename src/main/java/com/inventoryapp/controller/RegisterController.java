@@ -60,9 +60,9 @@ public class RegisterController {
         }
 
         // Save to database
-        try (Connection conn = DBUtils.getConnection()) {
-            String sql = "INSERT INTO users (username, password, role) VALUES (?, ?, ?)";
-            PreparedStatement stmt = conn.prepareStatement(sql);
+        String sql = "INSERT INTO users (username, password, role) VALUES (?, ?, ?)";
+        try (Connection conn = DBUtils.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, password); //Consider hashing in future
             // stmt.setString(3, phone);
@@ -75,8 +75,6 @@ public class RegisterController {
             } else {
                 statusLabel.setText("Failed to register. Try again.");
             }
-
-            stmt.close();
         } catch (SQLException e) {
             e.printStackTrace();
             statusLabel.setText("DB Error: " + e.getMessage());
@@ -1,14 +1,22 @@
 package com.inventoryapp.controller;
 
+import com.inventoryapp.model.ItemReportRow;
+import com.inventoryapp.model.ReportPreview;
+import com.inventoryapp.service.AsyncInventoryService;
 import com.inventoryapp.service.ReportExportService;
+import com.inventoryapp.service.ReportPreviewTask;
+import com.inventoryapp.service.ReportSnapshot;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 
 public class ReportController {
 
@@ -18,47 +26,128 @@ public class ReportController {
     @FXML private ComboBox<String> categoryCombo;
     @FXML private CheckBox includeOutOfStockCheck;
     @FXML private Button generateReportBtn;
+    @FXML private Button cancelReportBtn;
     @FXML private ProgressIndicator progressIndicator;
     @FXML private Label statusLabel;
-    @FXML private TextArea reportPreviewArea;
+    @FXML private TableView<ItemReportRow> reportPreviewTable;
+    @FXML private TableColumn<ItemReportRow, Integer> previewIdColumn;
+    @FXML private TableColumn<ItemReportRow, String> previewNameColumn;
+    @FXML private TableColumn<ItemReportRow, Integer> previewQuantityColumn;
+    @FXML private TableColumn<ItemReportRow, Double> previewPriceColumn;
+    @FXML private TableColumn<ItemReportRow, LocalDate> previewAddedDateColumn;
+    @FXML private Label previewSummaryLabel;
     @FXML private Button exportCSVBtn;
     @FXML private Button exportPDFBtn;
     @FXML private Label exportPathLabel;
 
     private final ReportExportService reportService = new ReportExportService();
-    private String generatedReportPreview = "";
+    private ReportPreviewTask reportTask;
+    // Set while an export is writing; the report and export buttons stay disabled until it has finished
+    private boolean exporting;
+    // Rows of the report shown in the preview; exports write the same rows
+    private ReportSnapshot reportSnapshot;
 
     @FXML
     public void initialize() {
         reportTypeCombo.getItems().addAll("Full Inventory", "Low Stock", "Custom Date Range");
         categoryCombo.getItems().addAll("All", "Electronics", "Groceries", "Clothing", "Other");
 
+        // The table only creates cells for the visible rows
+        previewIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
+        previewNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
+        previewQuantityColumn.setCellValueFactory(new PropertyValueFactory<>("quantity"));
+        previewPriceColumn.setCellValueFactory(new PropertyValueFactory<>("price"));
+        previewAddedDateColumn.setCellValueFactory(new PropertyValueFactory<>("addedDate"));
+
         progressIndicator.setVisible(false);
+        cancelReportBtn.setDisable(true);
 
         generateReportBtn.setOnAction(e -> generateReport());
+        cancelReportBtn.setOnAction(e -> cancelReport());
         exportCSVBtn.setOnAction(e -> exportReport("CSV"));
         exportPDFBtn.setOnAction(e -> exportReport("PDF"));
     }
 
     private void generateReport() {
-        progressIndicator.setVisible(true);
-        statusLabel.setText("Generating report...");
-
         String type = reportTypeCombo.getValue();
         LocalDate startDate = startDatePicker.getValue();
         LocalDate endDate = endDatePicker.getValue();
         String category = categoryCombo.getValue();
         boolean includeOutOfStock = includeOutOfStockCheck.isSelected();
 
-        generatedReportPreview = reportService.generatePreview(type, startDate, endDate, category, includeOutOfStock);
-        reportPreviewArea.setText(generatedReportPreview);
+        ReportPreviewTask task = new ReportPreviewTask(reportService, type, startDate, endDate, category, includeOutOfStock);
+        reportTask = task;
+        progressIndicator.progressProperty().bind(task.progressProperty());
+        statusLabel.textProperty().bind(task.messageProperty());
+        setReportRunning(true);
 
-        progressIndicator.setVisible(false);
-        statusLabel.setText("Report generated successfully.");
+        // stop() lets call() return before the task finishes, so every outcome arrives here
+        task.setOnSucceeded(e -> {
+            finishReport();
+            if (task.getValue() == null) {
+                statusLabel.setText("Report generation cancelled.");
+                return;
+            }
+            // An export still reading the old snapshot keeps its file until it finishes
+            if (reportSnapshot != null) {
+                reportSnapshot.close();
+            }
+            reportSnapshot = task.getValue();
+            ReportPreview preview = reportService.getPreview(reportSnapshot);
+            reportPreviewTable.getItems().setAll(preview.getRows());
+            previewSummaryLabel.setText(preview.getHiddenRows() > 0
+                    ? "Showing the first " + preview.getRows().size() + " of " + preview.getTotalRows()
+                            + " rows; exports include all of them."
+                    : preview.getTotalRows() + " rows.");
+            statusLabel.setText("Report generated successfully (" + preview.getTotalRows() + " rows).");
+        });
+        task.setOnFailed(e -> {
+            finishReport();
+            statusLabel.setText("Failed to generate report.");
+            System.err.println("Error generating report: " + task.getException().getMessage());
+        });
+        AsyncInventoryService.execute(task);
+    }
+
+    // The buttons stay disabled until the worker has actually stopped reading
+    private void cancelReport() {
+        if (reportTask != null) {
+            reportTask.stop();
+            cancelReportBtn.setDisable(true);
+            statusLabel.textProperty().unbind();
+            statusLabel.setText("Cancelling report...");
+        }
+    }
+
+    private void finishReport() {
+        reportTask = null;
+        progressIndicator.progressProperty().unbind();
+        statusLabel.textProperty().unbind();
+        setReportRunning(false);
+    }
+
+    // Only one report at a time, and nothing to export until it is done
+    private void setReportRunning(boolean running) {
+        progressIndicator.setVisible(running || exporting);
+        generateReportBtn.setDisable(running || exporting);
+        cancelReportBtn.setDisable(!running);
+        exportCSVBtn.setDisable(running || exporting);
+        exportPDFBtn.setDisable(running || exporting);
+    }
+
+    // Only one export at a time, so each one runs to the end and shows its own result,
+    // and no new report until it is done, since the report binds the status label
+    private void setExporting(boolean running) {
+        exporting = running;
+        boolean reportRunning = reportTask != null;
+        progressIndicator.setVisible(running || reportRunning);
+        generateReportBtn.setDisable(running || reportRunning);
+        exportCSVBtn.setDisable(running || reportRunning);
+        exportPDFBtn.setDisable(running || reportRunning);
     }
 
     private void exportReport(String format) {
-        if (generatedReportPreview.isEmpty()) {
+        if (reportSnapshot == null) {
             statusLabel.setText("Please generate a report first.");
             return;
         }
@@ -68,21 +157,51 @@ public class ReportController {
         fileChooser.getExtensionFilters().add(
                 new FileChooser.ExtensionFilter(format + " Files", "*." + format.toLowerCase())
         );
+        if ("CSV".equals(format)) {
+            fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Compressed CSV Files", "*.csv.gz"));
+        }
         File file = fileChooser.showSaveDialog(new Stage());
+        if (file == null) {
+            return;
+        }
 
-        if (file != null) {
+        // Hold the rows now: a newer report may close this snapshot before the export starts reading
+        ReportSnapshot snapshot = reportSnapshot;
+        try {
+            snapshot.retain();
+        } catch (IOException e) {
+            statusLabel.setText("Please generate the report again.");
+            return;
+        }
+
+        String path = file.getAbsolutePath();
+        boolean gzip = path.toLowerCase().endsWith(".gz");
+        setExporting(true);
+        statusLabel.setText("Exporting " + format + " report...");
+
+        // Large exports run off the FX thread; nothing cancels them, so the rows are released
+        // only once the writer is done with them
+        CompletableFuture<Long> export = AsyncInventoryService.supply(() -> {
             try {
                 if ("PDF".equals(format)) {
-                     reportService.exportAsPdf(file.getAbsolutePath());
-                } else {
-                    reportService.exportAsPdf(file.getAbsolutePath());
+                    return reportService.exportAsPdf(path, snapshot);
                 }
-                exportPathLabel.setText("Exported: " + file.getAbsolutePath());
-                statusLabel.setText(format + " report exported successfully.");
+                return reportService.exportAsCsv(path, gzip, snapshot);
             } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                snapshot.release();
+            }
+        });
+        export.whenCompleteAsync((rows, error) -> {
+            setExporting(false);
+            if (error == null) {
+                exportPathLabel.setText("Exported: " + path);
+                statusLabel.setText(format + " report exported successfully (" + rows + " rows).");
+            } else {
                 statusLabel.setText("Failed to export " + format + " report.");
-                e.printStackTrace();
+                System.err.println("Error exporting report: " + error.getMessage());
             }
-        }
+        }, AsyncInventoryService.FX_THREAD);
     }
 }
@@ -1,7 +1,10 @@
 package com.inventoryapp.controller;
 
 import com.inventoryapp.dao.InventoryDAO;
-import com.inventoryapp.model.InventoryItem;
+import com.inventoryapp.model.ItemListRow;
+import com.inventoryapp.service.AsyncInventoryService;
+import com.inventoryapp.service.AsyncInventoryService.RequestSlot;
+import com.inventoryapp.service.InventoryPager;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -13,6 +16,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
@@ -32,19 +36,19 @@ public class StaffDashboardController {
     private StackPane dynamicContent;
 
     @FXML
-    private TableView<InventoryItem> inventoryTable;
+    private TableView<ItemListRow> inventoryTable;
     @FXML
-    private TableColumn<InventoryItem, Integer> idColumn;
+    private TableColumn<ItemListRow, Integer> idColumn;
     @FXML
-    private TableColumn<InventoryItem, String> productColumn;
+    private TableColumn<ItemListRow, String> productColumn;
     @FXML
-    private TableColumn<InventoryItem, String> categoryColumn;
+    private TableColumn<ItemListRow, String> categoryColumn;
     @FXML
-    private TableColumn<InventoryItem, Integer> stockColumn;
+    private TableColumn<ItemListRow, Integer> stockColumn;
     @FXML
-    private TableColumn<InventoryItem, Double> priceColumn;
+    private TableColumn<ItemListRow, Double> priceColumn;
     @FXML
-    private TableColumn<InventoryItem, String> statusColumn;
+    private TableColumn<ItemListRow, String> statusColumn;
 
     @FXML
     private ComboBox<String> itemsPerPageCombo;
@@ -55,8 +59,16 @@ public class StaffDashboardController {
     @FXML
     private TextField searchField;
 
-    private ObservableList<InventoryItem> inventoryData = FXCollections.observableArrayList();
+    private ObservableList<ItemListRow> inventoryData = FXCollections.observableArrayList();
     private InventoryDAO inventoryDAO = new InventoryDAO();
+    private InventoryPager inventoryPager = new InventoryPager(inventoryDAO, 10);
+    private AsyncInventoryService inventoryService = new AsyncInventoryService(inventoryDAO);
+
+    // Table contents come from either a page or a search; whichever was asked for last wins
+    private final RequestSlot<List<ItemListRow>> tableRequest = new RequestSlot<>();
+    private final RequestSlot<Integer> pageCountRequest = new RequestSlot<>();
+    // Set while search results are shown, so page count changes don't load a page over them
+    private boolean searching;
 
     // === Navigation Actions ===
 
@@ -143,9 +155,43 @@ public class StaffDashboardController {
     }
 
     private void loadInventoryData() {
-        List<InventoryItem> items = inventoryDAO.getAllItems();
-        inventoryData.setAll(items);
         inventoryTable.setItems(inventoryData);
+        refreshPagination();
+    }
+
+    private void setupPagination() {
+        inventoryPagination.setPageFactory(this::showInventoryPage);
+
+        itemsPerPageCombo.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue != null) {
+                inventoryPager.setPageSize(Integer.parseInt(newValue));
+                refreshPagination();
+            }
+        });
+    }
+
+    // The table sits outside the Pagination control, so the page node is just a placeholder
+    private Node showInventoryPage(int pageIndex) {
+        if (searching) {
+            return new Region();
+        }
+        tableRequest.submit(inventoryService.getPage(inventoryPager, pageIndex), inventoryData::setAll,
+                error -> System.err.println("Failed to load inventory page: " + error.getMessage()));
+        return new Region();
+    }
+
+    private void refreshPagination() {
+        searching = false;
+        pageCountRequest.submit(inventoryService.refreshPageCount(inventoryPager), pageCount -> {
+            // A new page count makes the Pagination call the page factory itself
+            boolean reloaded = pageCount != inventoryPagination.getPageCount();
+            inventoryPagination.setPageCount(pageCount);
+            if (inventoryPagination.getCurrentPageIndex() != 0) {
+                inventoryPagination.setCurrentPageIndex(0);
+            } else if (!reloaded) {
+                showInventoryPage(0);
+            }
+        }, error -> System.err.println("Failed to count inventory pages: " + error.getMessage()));
     }
 
     private void setupTableColumns() {
@@ -177,6 +223,7 @@ public class StaffDashboardController {
         }
 
         setupTableColumns();
+        setupPagination();
         loadInventoryData();
 
         // Set up search functionality
@@ -184,8 +231,13 @@ public class StaffDashboardController {
             if (newValue.isEmpty()) {
                 loadInventoryData();
             } else {
-                List<InventoryItem> filteredItems = inventoryDAO.searchItemsByName(newValue);
-                inventoryData.setAll(filteredItems);
+                // Each keystroke supersedes the previous search and any pending page load
+                searching = true;
+                pageCountRequest.cancel();
+                tableRequest.submit(inventoryService.searchItemRows(newValue), filteredItems -> {
+                    inventoryPagination.setPageCount(1);
+                    inventoryData.setAll(filteredItems);
+                }, error -> System.err.println("Search failed: " + error.getMessage()));
             }
         });
 
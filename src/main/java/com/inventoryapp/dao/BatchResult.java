@@ -0,0 +1,88 @@
+package com.inventoryapp.dao;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a batch write.
+ * Rows are identified by their position in the input, so callers can match
+ * failures and generated IDs back to the items they submitted.
+ */
+public class BatchResult {
+
+    private final int[] generatedIds;
+    private final boolean[] succeeded;
+    private final Map<Integer, String> failures = new TreeMap<>();
+    private int successCount;
+
+    public BatchResult(int size) {
+        this.generatedIds = new int[size];
+        this.succeeded = new boolean[size];
+    }
+
+    public void recordSuccess(int index) {
+        if (!succeeded[index]) {
+            succeeded[index] = true;
+            successCount++;
+        }
+        failures.remove(index);
+    }
+
+    public void recordSuccess(int index, int generatedId) {
+        recordSuccess(index);
+        generatedIds[index] = generatedId;
+    }
+
+    public void recordFailure(int index, String reason) {
+        if (succeeded[index]) {
+            succeeded[index] = false;
+            successCount--;
+        }
+        generatedIds[index] = 0;
+        failures.put(index, reason);
+    }
+
+    public int size() {
+        return succeeded.length;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public int getFailureCount() {
+        return failures.size();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    public boolean isSuccess(int index) {
+        return succeeded[index];
+    }
+
+    // Generated IDs in input order (0 for rows that were not inserted)
+    public int[] getGeneratedIds() {
+        return generatedIds.clone();
+    }
+
+    public int getGeneratedId(int index) {
+        return generatedIds[index];
+    }
+
+    // Failure reason by input index
+    public Map<Integer, String> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "size=" + size() +
+                ", succeeded=" + successCount +
+                ", failed=" + failures.size() +
+                '}';
+    }
+}
@@ -0,0 +1,14 @@
+package com.inventoryapp.dao;
+
+/**
+ * Thrown when a write would give an item the same name (ignoring case) as another item.
+ * Raised from the database's unique name index, so it also catches concurrent inserts.
+ */
+public class DuplicateNameException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateNameException(String name, Throwable cause) {
+        super("An item named '" + name + "' already exists.", cause);
+    }
+}
@@ -1,49 +1,88 @@
 package com.inventoryapp.dao;
 
 import com.inventoryapp.util.DBUtils;
+import com.inventoryapp.util.DatabaseConfig;
+import com.inventoryapp.util.TimestampFormat;
 import com.inventoryapp.model.InventoryItem;
+import com.inventoryapp.model.InventoryStats;
+import com.inventoryapp.model.ItemListRow;
+import com.inventoryapp.model.ItemReportRow;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Data Access Object for Inventory Items
  * Handles all database operations for inventory items
  */
 public class InventoryDAO {
+
+    // Rows per executeBatch call in the batch methods
+    private static final int DEFAULT_BATCH_SIZE = DatabaseConfig.getInt("db.batch.size", 500);
+
+    // JDBC fetch size hint for the streaming read methods
+    private static final int FETCH_SIZE = DatabaseConfig.getInt("db.fetchSize", 500);
+
+    // Maximum rows returned by full-text search
+    private static final int SEARCH_LIMIT = DatabaseConfig.getInt("db.search.limit", 200);
+
+    // How created_at/updated_at are stored (TEXT or epoch millis)
+    private static final TimestampFormat TIMESTAMPS = DBUtils.getTimestampFormat();
+
+    // Column lists in the order the row mappers read them by index
+    private static final String ITEM_COLUMNS = "id, name, description, category, quantity, price, supplier, created_at, updated_at";
+    private static final String LIST_COLUMNS = "id, name, category, quantity, price";
+    private static final String REPORT_COLUMNS = "id, name, quantity, price, created_at";
+
+    private static final String SEARCH_SQL = searchSql(ITEM_COLUMNS);
+    private static final String SEARCH_ROWS_SQL = searchSql(LIST_COLUMNS);
+
+    private static final String INSERT_SQL = """
+        INSERT INTO inventory_items (name, description, category, quantity, price, supplier, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE inventory_items
+        SET name = ?, description = ?, category = ?, quantity = ?, price = ?, supplier = ?, updated_at = ?
+        WHERE id = ?
+    """;
+
+    private static final String UPDATE_DETAILS_SQL = """
+        UPDATE inventory_items
+        SET name = ?, description = ?, category = ?, price = ?, supplier = ?, updated_at = ?
+        WHERE id = ?
+    """;
+
+    private static final String DELETE_SQL = "DELETE FROM inventory_items WHERE id = ?";
+
+    // Relative stock change; the guard keeps quantity non-negative and RETURNING saves a second query
+    private static final String ADJUST_SQL = """
+        UPDATE inventory_items
+        SET updated_at = ?, quantity = quantity + ?
+        WHERE id = ? AND quantity + ? >= 0
+        RETURNING quantity
+    """;
     
     // Add new inventory item
     public boolean addItem(InventoryItem item) {
-        String sql = """
-            INSERT INTO inventory_items (name, description, category, quantity, price, supplier, created_at, updated_at)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-        
-        try (Connection conn = DBUtils.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            pstmt.setString(1, item.getName());
-            pstmt.setString(2, item.getDescription());
-            pstmt.setString(3, item.getCategory());
-            pstmt.setInt(4, item.getQuantity());
-            pstmt.setDouble(5, item.getPrice());
-            pstmt.setString(6, item.getSupplier());
-            pstmt.setString(7, DBUtils.formatDateTime(item.getCreatedAt()));
-            pstmt.setString(8, DBUtils.formatDateTime(item.getUpdatedAt()));
-            
-            int affectedRows = pstmt.executeUpdate();
-            
-            if (affectedRows > 0) {
-                // Get the generated ID
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        item.setId(generatedKeys.getInt(1));
-                    }
-                }
-                return true;
-            }
-            
+        try (Connection conn = DBUtils.getConnection()) {
+            item.setId(insertItem(conn, item));
+            return true;
         } catch (SQLException e) {
             System.err.println("Error adding item: " + e.getMessage());
         }
@@ -53,28 +92,9 @@ public class InventoryDAO {
     
     // Update existing inventory item
     public boolean updateItem(InventoryItem item) {
-        String sql = """
-            UPDATE inventory_items 
-            SET name = ?, description = ?, category = ?, quantity = ?, price = ?, supplier = ?, updated_at = ?
-            WHERE id = ?
-        """;
-        
-        try (Connection conn = DBUtils.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            item.setUpdatedAt(LocalDateTime.now());
-            
-            pstmt.setString(1, item.getName());
-            pstmt.setString(2, item.getDescription());
-            pstmt.setString(3, item.getCategory());
-            pstmt.setInt(4, item.getQuantity());
-            pstmt.setDouble(5, item.getPrice());
-            pstmt.setString(6, item.getSupplier());
-            pstmt.setString(7, DBUtils.formatDateTime(item.getUpdatedAt()));
-            pstmt.setInt(8, item.getId());
-            
-            return pstmt.executeUpdate() > 0;
-            
+        item.setUpdatedAt(LocalDateTime.now());
+        try (Connection conn = DBUtils.getConnection()) {
+            return updateItem(conn, item, item.getUpdatedAt());
         } catch (SQLException e) {
             System.err.println("Error updating item: " + e.getMessage());
         }
@@ -84,14 +104,8 @@ public class InventoryDAO {
     
     // Delete inventory item
     public boolean deleteItem(int id) {
-        String sql = "DELETE FROM inventory_items WHERE id = ?";
-        
-        try (Connection conn = DBUtils.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, id);
-            return pstmt.executeUpdate() > 0;
-            
+        try (Connection conn = DBUtils.getConnection()) {
+            return deleteItem(conn, id);
         } catch (SQLException e) {
             System.err.println("Error deleting item: " + e.getMessage());
         }
@@ -99,9 +113,162 @@ public class InventoryDAO {
         return false;
     }
     
+    // Add delta (negative to remove stock) in one statement; returns the new quantity,
+    // or null if the item does not exist or the stock would go negative.
+    // Database errors are thrown rather than logged, so callers can tell them from a refused change.
+    public Integer adjustQuantity(int id, int delta) throws SQLException {
+        try (Connection conn = DBUtils.getConnection()) {
+            return adjustQuantity(conn, id, delta);
+        }
+    }
+    
+    // Apply many deltas (item id -> delta) in one transaction. Returns the new quantity of every
+    // adjusted item; missing items and adjustments that would go negative are skipped and left out.
+    // A database error rolls back every adjustment and is thrown.
+    public Map<Integer, Integer> adjustQuantities(Map<Integer, Integer> deltas) throws SQLException {
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        if (deltas.isEmpty()) {
+            return quantities;
+        }
+
+        try (Connection conn = DBUtils.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(ADJUST_SQL)) {
+                TIMESTAMPS.bind(pstmt, 1, LocalDateTime.now());
+                for (Map.Entry<Integer, Integer> entry : deltas.entrySet()) {
+                    pstmt.setInt(2, entry.getValue());
+                    pstmt.setInt(3, entry.getKey());
+                    pstmt.setInt(4, entry.getValue());
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (rs.next()) {
+                            quantities.put(entry.getKey(), rs.getInt(1));
+                        }
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return quantities;
+    }
+    
+    // Single-row writes on a caller-managed connection, e.g. inside an InventoryWriter group commit.
+    // A duplicate name is reported as DuplicateNameException rather than SQLException.
+    // The items are only read, never modified, since other threads may still be using them.
+    
+    // Insert an item and return its generated id (the item itself is not modified)
+    int insertItem(Connection conn, InventoryItem item) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+            bindInsert(pstmt, item);
+            pstmt.executeUpdate();
+            return (int) lastInsertRowId(conn);
+        } catch (SQLException e) {
+            if (isDuplicateName(e)) {
+                throw new DuplicateNameException(item.getName(), e);
+            }
+            throw e;
+        }
+    }
+    
+    boolean updateItem(Connection conn, InventoryItem item, LocalDateTime updatedAt) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+            bindUpdate(pstmt, item, updatedAt);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            if (isDuplicateName(e)) {
+                throw new DuplicateNameException(item.getName(), e);
+            }
+            throw e;
+        }
+    }
+    
+    // Update every column except quantity, so concurrent stock adjustments are not overwritten
+    boolean updateItemDetails(Connection conn, InventoryItem item, LocalDateTime updatedAt) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_DETAILS_SQL)) {
+            pstmt.setString(1, item.getName());
+            pstmt.setString(2, item.getDescription());
+            pstmt.setString(3, item.getCategory());
+            pstmt.setDouble(4, item.getPrice());
+            pstmt.setString(5, item.getSupplier());
+            TIMESTAMPS.bind(pstmt, 6, updatedAt);
+            pstmt.setInt(7, item.getId());
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            if (isDuplicateName(e)) {
+                throw new DuplicateNameException(item.getName(), e);
+            }
+            throw e;
+        }
+    }
+    
+    boolean deleteItem(Connection conn, int id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(DELETE_SQL)) {
+            pstmt.setInt(1, id);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+    
+    // Add delta to an item's stock in place; returns the new quantity, or null if the item
+    // does not exist or the result would be negative
+    Integer adjustQuantity(Connection conn, int id, int delta) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(ADJUST_SQL)) {
+            TIMESTAMPS.bind(pstmt, 1, LocalDateTime.now());
+            pstmt.setInt(2, delta);
+            pstmt.setInt(3, id);
+            pstmt.setInt(4, delta);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
+            }
+        }
+    }
+    
+    // Add many items in one transaction; generated IDs are set on the items and returned in input order
+    public BatchResult addItems(List<InventoryItem> items) {
+        return addItems(items, DEFAULT_BATCH_SIZE);
+    }
+
+    public BatchResult addItems(List<InventoryItem> items, int chunkSize) {
+        BatchResult result = executeBatch(INSERT_SQL, items.size(), chunkSize, true,
+                (pstmt, i) -> bindInsert(pstmt, items.get(i)));
+        for (int i = 0; i < items.size(); i++) {
+            if (result.isSuccess(i)) {
+                items.get(i).setId(result.getGeneratedId(i));
+            }
+        }
+        return result;
+    }
+
+    // Update many items in one transaction; rows whose ID no longer exists are reported as failures
+    public BatchResult updateItems(List<InventoryItem> items) {
+        return updateItems(items, DEFAULT_BATCH_SIZE);
+    }
+
+    public BatchResult updateItems(List<InventoryItem> items, int chunkSize) {
+        LocalDateTime now = LocalDateTime.now();
+        for (InventoryItem item : items) {
+            item.setUpdatedAt(now);
+        }
+        return executeBatch(UPDATE_SQL, items.size(), chunkSize, false,
+                (pstmt, i) -> bindUpdate(pstmt, items.get(i), now));
+    }
+
+    // Delete many items in one transaction; IDs that do not exist are reported as failures
+    public BatchResult deleteItems(int[] ids) {
+        return deleteItems(ids, DEFAULT_BATCH_SIZE);
+    }
+
+    public BatchResult deleteItems(int[] ids, int chunkSize) {
+        return executeBatch(DELETE_SQL, ids.length, chunkSize, false,
+                (pstmt, i) -> pstmt.setInt(1, ids[i]));
+    }
+    
     // Get item by ID
     public InventoryItem getItemById(int id) {
-        String sql = "SELECT * FROM inventory_items WHERE id = ?";
+        String sql = "SELECT " + ITEM_COLUMNS + " FROM inventory_items WHERE id = ?";
         
         try (Connection conn = DBUtils.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -124,7 +291,7 @@ public class InventoryDAO {
     // Get all inventory items
     public List<InventoryItem> getAllItems() {
         List<InventoryItem> items = new ArrayList<>();
-        String sql = "SELECT * FROM inventory_items ORDER BY name";
+        String sql = "SELECT " + ITEM_COLUMNS + " FROM inventory_items ORDER BY name COLLATE NOCASE";
         
         try (Connection conn = DBUtils.getConnection();
              Statement stmt = conn.createStatement();
@@ -141,10 +308,260 @@ public class InventoryDAO {
         return items;
     }
     
+    // Stream all items in name order without building a list.
+    // The stream holds a pooled connection until closed: always use try-with-resources.
+    public Stream<InventoryItem> streamAllItems() {
+        return streamQuery("SELECT " + ITEM_COLUMNS + " FROM inventory_items ORDER BY name COLLATE NOCASE", pstmt -> { }, this::mapResultSetToItem);
+    }
+
+    // Stream items whose name contains the given text; close the stream when done
+    public Stream<InventoryItem> streamItemsByName(String name) {
+        return streamQuery("SELECT " + ITEM_COLUMNS + " FROM inventory_items WHERE name LIKE ? ORDER BY name COLLATE NOCASE",
+                pstmt -> pstmt.setString(1, "%" + name + "%"), this::mapResultSetToItem);
+    }
+
+    // Stream the items matching a filter in name order; close the stream when done
+    public Stream<InventoryItem> streamItems(ItemQuery query) {
+        return streamQuery("SELECT " + ITEM_COLUMNS + " FROM inventory_items" + query.toWhereClause() + " ORDER BY name COLLATE NOCASE",
+                pstmt -> query.bind(pstmt, 1), this::mapResultSetToItem);
+    }
+
+    // Stream report rows (id, name, quantity, price, added date) matching a filter; close the stream when done
+    public Stream<ItemReportRow> streamReportRows(ItemQuery query) {
+        return streamReportRows(query, null);
+    }
+
+    // As above; cancelling stops the query, and reading further rows then throws
+    public Stream<ItemReportRow> streamReportRows(ItemQuery query, QueryCanceller canceller) {
+        return streamQuery("SELECT " + REPORT_COLUMNS + " FROM inventory_items" + query.toWhereClause()
+                        + " ORDER BY name COLLATE NOCASE",
+                pstmt -> query.bind(pstmt, 1), this::mapReportRow, canceller);
+    }
+
+    // Visit every item in name order; the connection is released before this returns
+    public void forEachItem(Consumer<? super InventoryItem> action) {
+        try (Stream<InventoryItem> items = streamAllItems()) {
+            items.forEach(action);
+        }
+    }
+
+    // Whether another item (other than excludeId) already uses this name, ignoring case; uses the unique name index
+    public boolean existsByName(String name, int excludeId) {
+        String sql = "SELECT 1 FROM inventory_items WHERE name = ? COLLATE NOCASE AND id <> ? LIMIT 1";
+
+        try (Connection conn = DBUtils.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, name);
+            pstmt.setInt(2, excludeId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error checking item name: " + e.getMessage());
+        }
+
+        return false;
+    }
+
+    // Which of the given names are already used, ignoring case as NOCASE does; returned folded with DBUtils.foldNoCase.
+    // One indexed lookup per 500 names.
+    public Set<String> findExistingNames(Collection<String> names) {
+        Set<String> existing = new HashSet<>();
+        List<String> all = new ArrayList<>(names);
+
+        try (Connection conn = DBUtils.getConnection()) {
+            for (int from = 0; from < all.size(); from += 500) {
+                List<String> chunk = all.subList(from, Math.min(all.size(), from + 500));
+                String sql = "SELECT name FROM inventory_items WHERE name COLLATE NOCASE IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            existing.add(DBUtils.foldNoCase(rs.getString(1)));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            // The unique index still rejects duplicates on insert
+            System.err.println("Error checking item names: " + e.getMessage());
+        }
+
+        return existing;
+    }
+
+    // Count all inventory items
+    public int countItems() {
+        String sql = "SELECT COUNT(*) FROM inventory_items";
+
+        try (Connection conn = DBUtils.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error counting items: " + e.getMessage());
+        }
+
+        return 0;
+    }
+
+    // Stat card figures for the whole inventory and per category, in one aggregate query.
+    // Low stock means 0 < quantity < lowStockThreshold; out of stock means quantity = 0.
+    public InventoryStats getStats(int lowStockThreshold) {
+        String sql = """
+            SELECT category,
+                   COUNT(*) AS total_items,
+                   SUM(CASE WHEN quantity > 0 AND quantity < ? THEN 1 ELSE 0 END) AS low_stock,
+                   SUM(CASE WHEN quantity = 0 THEN 1 ELSE 0 END) AS out_of_stock,
+                   COALESCE(SUM(quantity * price), 0) AS total_value
+            FROM inventory_items
+            GROUP BY category COLLATE NOCASE
+            ORDER BY category COLLATE NOCASE
+        """;
+        InventoryStats stats = new InventoryStats();
+
+        try (Connection conn = DBUtils.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, lowStockThreshold);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String category = rs.getString("category");
+                    stats.addCategory(category != null ? category : "Uncategorized", new InventoryStats(
+                            rs.getInt("total_items"),
+                            rs.getInt("low_stock"),
+                            rs.getInt("out_of_stock"),
+                            rs.getDouble("total_value")));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error calculating inventory stats: " + e.getMessage());
+        }
+
+        return stats;
+    }
+
+    // Count the items matching a filter
+    public int countItems(ItemQuery query) {
+        return countItems(query, null);
+    }
+
+    // As above; a cancelled count returns 0
+    public int countItems(ItemQuery query, QueryCanceller canceller) {
+        String sql = "SELECT COUNT(*) FROM inventory_items" + query.toWhereClause();
+
+        try (Connection conn = DBUtils.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            query.bind(pstmt, 1);
+            if (canceller != null) {
+                canceller.register(pstmt);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            } finally {
+                if (canceller != null) {
+                    canceller.unregister(pstmt);
+                }
+            }
+
+        } catch (SQLException e) {
+            if (canceller == null || !canceller.isCancelled()) {
+                System.err.println("Error counting items: " + e.getMessage());
+            }
+        }
+
+        return 0;
+    }
+
+    // Get one page of items ordered by (name, id), starting after the given key (null for the first page)
+    public List<ItemListRow> getItemsPage(PageKey after, int limit) {
+        List<ItemListRow> items = new ArrayList<>();
+        String sql = after == null
+                ? "SELECT " + LIST_COLUMNS + " FROM inventory_items ORDER BY name COLLATE NOCASE, id LIMIT ?"
+                : "SELECT " + LIST_COLUMNS + " FROM inventory_items "
+                  + "WHERE name COLLATE NOCASE >= ? AND (name COLLATE NOCASE > ? OR id > ?) "
+                  + "ORDER BY name COLLATE NOCASE, id LIMIT ?";
+
+        try (Connection conn = DBUtils.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = bindPageKey(pstmt, after);
+            pstmt.setInt(index, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapListRow(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting items page: " + e.getMessage());
+        }
+
+        return items;
+    }
+
+    // Key of the row that comes offset rows after the given key (null for the start), reading keys only
+    public PageKey findKeyAfter(PageKey after, int offset) {
+        String sql = after == null
+                ? "SELECT name, id FROM inventory_items ORDER BY name COLLATE NOCASE, id LIMIT 1 OFFSET ?"
+                : "SELECT name, id FROM inventory_items "
+                  + "WHERE name COLLATE NOCASE >= ? AND (name COLLATE NOCASE > ? OR id > ?) "
+                  + "ORDER BY name COLLATE NOCASE, id LIMIT 1 OFFSET ?";
+
+        try (Connection conn = DBUtils.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = bindPageKey(pstmt, after);
+            pstmt.setInt(index, offset);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return new PageKey(rs.getString(1), rs.getInt(2));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error seeking page key: " + e.getMessage());
+        }
+
+        return null;
+    }
+    
+    // Full-text search over name, description, supplier and category, best matches first
+    public List<InventoryItem> searchItems(String term) {
+        return searchItems(term, SEARCH_LIMIT);
+    }
+
+    // Every word in the term must match the start of a word in the item (e.g. "del lap" finds "Dell Laptop")
+    public List<InventoryItem> searchItems(String term, int limit) {
+        return search(SEARCH_SQL, term, limit, this::mapResultSetToItem);
+    }
+
+    // Full-text search returning only the columns the dashboard tables show
+    public List<ItemListRow> searchItemRows(String term) {
+        return search(SEARCH_ROWS_SQL, term, SEARCH_LIMIT, this::mapListRow);
+    }
+    
     // Search items by name
     public List<InventoryItem> searchItemsByName(String name) {
         List<InventoryItem> items = new ArrayList<>();
-        String sql = "SELECT * FROM inventory_items WHERE name LIKE ? ORDER BY name";
+        String sql = "SELECT " + ITEM_COLUMNS + " FROM inventory_items WHERE name LIKE ? ORDER BY name COLLATE NOCASE";
         
         try (Connection conn = DBUtils.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -164,18 +581,316 @@ public class InventoryDAO {
         return items;
     }
     
-    // Helper method to map ResultSet to InventoryItem
+    // Helper methods to bind item columns for insert/update statements
+    private void bindInsert(PreparedStatement pstmt, InventoryItem item) throws SQLException {
+        pstmt.setString(1, item.getName());
+        pstmt.setString(2, item.getDescription());
+        pstmt.setString(3, item.getCategory());
+        pstmt.setInt(4, item.getQuantity());
+        pstmt.setDouble(5, item.getPrice());
+        pstmt.setString(6, item.getSupplier());
+        TIMESTAMPS.bind(pstmt, 7, item.getCreatedAt());
+        TIMESTAMPS.bind(pstmt, 8, item.getUpdatedAt());
+    }
+
+    private void bindUpdate(PreparedStatement pstmt, InventoryItem item, LocalDateTime updatedAt) throws SQLException {
+        pstmt.setString(1, item.getName());
+        pstmt.setString(2, item.getDescription());
+        pstmt.setString(3, item.getCategory());
+        pstmt.setInt(4, item.getQuantity());
+        pstmt.setDouble(5, item.getPrice());
+        pstmt.setString(6, item.getSupplier());
+        TIMESTAMPS.bind(pstmt, 7, updatedAt);
+        pstmt.setInt(8, item.getId());
+    }
+
+    /*
+     * Runs one statement for rows [0, count) inside a single transaction, chunkSize rows per
+     * executeBatch. A chunk that fails is rolled back to its savepoint and replayed row by row,
+     * so only the offending rows are reported and the rest of the batch still commits.
+     *
+     * Generated keys: the connection holds SQLite's write lock from the first insert until
+     * commit, so AUTOINCREMENT hands out consecutive IDs and a chunk's IDs end at last_insert_rowid().
+     */
+    private BatchResult executeBatch(String sql, int count, int chunkSize, boolean insert, RowBinder binder) {
+        BatchResult result = new BatchResult(count);
+        if (count == 0) {
+            return result;
+        }
+        int size = Math.max(1, chunkSize);
+
+        try (Connection conn = DBUtils.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int start = 0; start < count; start += size) {
+                    int end = Math.min(start + size, count);
+                    Savepoint chunk = conn.setSavepoint();
+                    try {
+                        for (int i = start; i < end; i++) {
+                            binder.bind(pstmt, i);
+                            pstmt.addBatch();
+                        }
+                        int[] counts = pstmt.executeBatch();
+                        long firstId = insert ? lastInsertRowId(conn) - (end - start) + 1 : 0;
+                        for (int i = start; i < end; i++) {
+                            recordRow(result, i, counts[i - start], insert ? (int) (firstId + i - start) : 0);
+                        }
+                        conn.releaseSavepoint(chunk);
+                    } catch (SQLException e) {
+                        pstmt.clearBatch();
+                        conn.rollback(chunk);
+                        executeRowByRow(conn, pstmt, start, end, insert, binder, result);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error executing batch: " + e.getMessage());
+            for (int i = 0; i < count; i++) {
+                result.recordFailure(i, "Batch rolled back: " + e.getMessage());
+            }
+        }
+
+        return result;
+    }
+
+    private void executeRowByRow(Connection conn, PreparedStatement pstmt, int start, int end,
+                                 boolean insert, RowBinder binder, BatchResult result) throws SQLException {
+        for (int i = start; i < end; i++) {
+            Savepoint row = conn.setSavepoint();
+            try {
+                binder.bind(pstmt, i);
+                int affected = pstmt.executeUpdate();
+                recordRow(result, i, affected, insert ? (int) lastInsertRowId(conn) : 0);
+                conn.releaseSavepoint(row);
+            } catch (SQLException e) {
+                conn.rollback(row);
+                result.recordFailure(i, isDuplicateName(e) ? "An item with this name already exists." : e.getMessage());
+            }
+        }
+    }
+
+    private void recordRow(BatchResult result, int index, int affected, int generatedId) {
+        if (affected == 0) {
+            result.recordFailure(index, "Item not found.");
+        } else if (generatedId > 0) {
+            result.recordSuccess(index, generatedId);
+        } else {
+            result.recordSuccess(index);
+        }
+    }
+
+    // Unique index violation on the item name
+    private boolean isDuplicateName(SQLException e) {
+        return e instanceof SQLiteException
+                && ((SQLiteException) e).getResultCode() == SQLiteErrorCode.SQLITE_CONSTRAINT_UNIQUE
+                && e.getMessage().contains("inventory_items.name");
+    }
+
+    private long lastInsertRowId(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private <T> List<T> search(String sql, String term, int limit, RowMapper<T> mapper) {
+        List<T> items = new ArrayList<>();
+        String match = toMatchExpression(term);
+        if (match.isEmpty()) {
+            return items;
+        }
+
+        try (Connection conn = DBUtils.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, match);
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapper.map(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error searching items: " + e.getMessage());
+        }
+
+        return items;
+    }
+
+    // Ranked full-text query returning the given columns; bm25 weights are name, description, supplier, category
+    private static String searchSql(String columns) {
+        return """
+            SELECT %s FROM (
+                SELECT rowid, bm25(inventory_items_fts, 10.0, 1.0, 2.0, 4.0) AS score
+                FROM inventory_items_fts
+                WHERE inventory_items_fts MATCH ?
+                ORDER BY score
+                LIMIT ?
+            ) AS hits
+            JOIN inventory_items i ON i.id = hits.rowid
+            ORDER BY hits.score
+        """.formatted("i." + columns.replace(", ", ", i."));
+    }
+
+    // Turn user input into an FTS5 query: each word becomes a quoted prefix term, all required
+    private String toMatchExpression(String term) {
+        StringBuilder match = new StringBuilder();
+        if (term == null) {
+            return "";
+        }
+        for (String word : term.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append('"').append(word).append("\"*");
+            }
+        }
+        return match.toString();
+    }
+
+    private int bindPageKey(PreparedStatement pstmt, PageKey after) throws SQLException {
+        if (after == null) {
+            return 1;
+        }
+        // Expanded form of (name, id) > (?, ?) so SQLite can seek the name index
+        pstmt.setString(1, after.getName());
+        pstmt.setString(2, after.getName());
+        pstmt.setInt(3, after.getId());
+        return 4;
+    }
+
+    /*
+     * Opens a query and exposes its rows as a lazy, sequential stream. Rows are mapped one at a
+     * time as the stream is consumed, so memory use does not depend on the size of the result.
+     * Closing the stream closes the result set and statement and returns the connection.
+     */
+    private <T> Stream<T> streamQuery(String sql, ParameterBinder binder, RowMapper<T> mapper) {
+        return streamQuery(sql, binder, mapper, null);
+    }
+
+    private <T> Stream<T> streamQuery(String sql, ParameterBinder binder, RowMapper<T> mapper, QueryCanceller canceller) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DBUtils.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setFetchSize(FETCH_SIZE);
+            binder.bind(pstmt);
+            if (canceller != null) {
+                canceller.register(pstmt);
+            }
+            rs = pstmt.executeQuery();
+        } catch (SQLException e) {
+            if (canceller != null) {
+                canceller.unregister(pstmt);
+            }
+            closeQuietly(rs, pstmt, conn);
+            if (canceller == null || !canceller.isCancelled()) {
+                System.err.println("Error opening item stream: " + e.getMessage());
+            }
+            return Stream.empty();
+        }
+
+        ResultSet cursor = rs;
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Error reading items: " + e.getMessage(), e);
+                }
+            }
+        };
+
+        PreparedStatement statement = pstmt;
+        Connection connection = conn;
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            // Unregister first: a late cancel() must not interrupt the connection's next user
+            if (canceller != null) {
+                canceller.unregister(statement);
+            }
+            closeQuietly(cursor, statement, connection);
+        });
+    }
+
+    private void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    System.err.println("Error closing item stream: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement pstmt, int index) throws SQLException;
+    }
+    
+    // Helper methods to map the current row by column index (see the *_COLUMNS lists)
     private InventoryItem mapResultSetToItem(ResultSet rs) throws SQLException {
-        InventoryItem item = new InventoryItem();
-        item.setId(rs.getInt("id"));
-        item.setName(rs.getString("name"));
-        item.setDescription(rs.getString("description"));
-        item.setCategory(rs.getString("category"));
-        item.setQuantity(rs.getInt("quantity"));
-        item.setPrice(rs.getDouble("price"));
-        item.setSupplier(rs.getString("supplier"));
-        item.setCreatedAt(DBUtils.parseDateTime(rs.getString("created_at")));
-        item.setUpdatedAt(DBUtils.parseDateTime(rs.getString("updated_at")));
-        return item;
+        if (TIMESTAMPS == TimestampFormat.EPOCH_MILLIS) {
+            // Raw millis; the item decodes them only if the timestamps are read
+            return new InventoryItem(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getInt(5), rs.getDouble(6), rs.getString(7), rs.getLong(8), rs.getLong(9));
+        }
+        return new InventoryItem(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                rs.getInt(5), rs.getDouble(6), rs.getString(7), TIMESTAMPS.read(rs, 8), TIMESTAMPS.read(rs, 9));
+    }
+
+    private ItemListRow mapListRow(ResultSet rs) throws SQLException {
+        return new ItemListRow(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getInt(4), rs.getDouble(5));
+    }
+
+    private ItemReportRow mapReportRow(ResultSet rs) throws SQLException {
+        return new ItemReportRow(rs.getInt(1), rs.getString(2), rs.getInt(3), rs.getDouble(4),
+                TIMESTAMPS.readDate(rs, 5));
+    }
+
+    /**
+     * Position of a row in (name, id) order, used as the seek key for keyset pagination.
+     */
+    public static class PageKey {
+        private final String name;
+        private final int id;
+
+        public PageKey(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        public static PageKey of(ItemListRow row) {
+            return new PageKey(row.getName(), row.getId());
+        }
+
+        public String getName() { return name; }
+        public int getId() { return id; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,323 @@
+package com.inventoryapp.dao;
+
+import com.inventoryapp.model.InventoryStats;
+import com.inventoryapp.model.ItemReportRow;
+import com.inventoryapp.util.ConnectionPool;
+import com.inventoryapp.util.DBUtils;
+import com.inventoryapp.util.DatabaseConfig;
+import com.inventoryapp.util.TimestampFormat;
+import org.sqlite.SQLiteCommitListener;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteUpdateListener;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * In-heap read mirror of inventory_items for reports and aggregates.
+ * The mirror is loaded once at startup and then kept current from SQLite's
+ * update and commit hooks on every pooled connection: ids changed by a
+ * committed transaction are re-read by primary key on a background thread
+ * once the writing connection is released. Reports and stat cards read only
+ * the heap copy, so they never hold read transactions on inventory.db; the
+ * mirror may trail the latest commit by a few milliseconds. Rows are also
+ * indexed by name the way SQLite's NOCASE collation orders them, so reports
+ * stream in name order without sorting the table. The mirror holds every
+ * item in heap, so it is off unless db.mirror.enabled is set.
+ */
+public class InventoryMirror {
+
+    private static final int REFRESH_CHUNK = 500;
+
+    private static volatile InventoryMirror instance;
+
+    private final Map<Integer, Row> rows = new ConcurrentHashMap<>();
+    // Same rows in report order; only the refresher thread writes either map
+    private final ConcurrentSkipListMap<NameKey, Row> byName = new ConcurrentSkipListMap<>();
+    private final Map<Connection, ChangeTracker> trackers = new ConcurrentHashMap<>();
+    private final Set<Integer> pendingIds = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher;
+    private final TimestampFormat timestamps = DBUtils.getTimestampFormat();
+    private volatile boolean ready;
+
+    private InventoryMirror() {
+        refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-mirror");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Start the mirror if db.mirror.enabled is set; call once after the database is initialized
+    public static synchronized void startIfEnabled() {
+        if (instance != null || !DatabaseConfig.getBoolean("db.mirror.enabled", false)) {
+            return;
+        }
+        InventoryMirror mirror = new InventoryMirror();
+        // Hooks first, so changes committed while the initial load runs are re-read afterwards
+        DBUtils.getPool().addListener(mirror.new HookInstaller());
+        mirror.refresher.execute(mirror::loadAll);
+        instance = mirror;
+    }
+
+    // The running mirror once its initial load has finished, otherwise null (callers fall back to SQL)
+    public static InventoryMirror getIfReady() {
+        InventoryMirror mirror = instance;
+        return mirror != null && mirror.ready ? mirror : null;
+    }
+
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.refresher.shutdownNow();
+            instance = null;
+        }
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    // === Queries (same results as the InventoryDAO equivalents) ===
+
+    // Report rows matching the filter, in name order, read lazily from the name index
+    public Stream<ItemReportRow> streamReportRows(ItemQuery query) {
+        return byName.values().stream()
+                .filter(query::matches)
+                .map(row -> new ItemReportRow(row.id, row.name, row.quantity, row.price, row.getAddedDate()));
+    }
+
+    public int countItems(ItemQuery query) {
+        return (int) rows.values().stream().filter(query::matches).count();
+    }
+
+    // Totals overall and per category, grouped case-insensitively like the SQL version
+    public InventoryStats getStats(int lowStockThreshold) {
+        // The first spelling seen becomes the category label, as with GROUP BY ... COLLATE NOCASE
+        Map<String, long[]> counts = new TreeMap<>(Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+        Map<String, Double> values = new TreeMap<>(Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+
+        for (Row row : rows.values()) {
+            long[] count = counts.computeIfAbsent(row.category, c -> new long[3]);
+            count[0]++;
+            if (row.quantity > 0 && row.quantity < lowStockThreshold) {
+                count[1]++;
+            } else if (row.quantity == 0) {
+                count[2]++;
+            }
+            values.merge(row.category, row.quantity * row.price, Double::sum);
+        }
+
+        InventoryStats stats = new InventoryStats();
+        for (Map.Entry<String, long[]> entry : counts.entrySet()) {
+            long[] count = entry.getValue();
+            stats.addCategory(entry.getKey() != null ? entry.getKey() : "Uncategorized",
+                    new InventoryStats((int) count[0], (int) count[1], (int) count[2], values.get(entry.getKey())));
+        }
+        return stats;
+    }
+
+    // === Loading and refresh (refresher thread only) ===
+
+    private void loadAll() {
+        long start = System.nanoTime();
+        try (Connection conn = DBUtils.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT id, name, category, quantity, price, created_at FROM inventory_items")) {
+            while (rs.next()) {
+                put(mapRow(rs));
+            }
+            ready = true;
+            System.out.println("Inventory mirror loaded " + rows.size() + " items in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        } catch (SQLException e) {
+            System.err.println("Inventory mirror disabled, initial load failed: " + e.getMessage());
+        }
+    }
+
+    // Re-read every id changed since the last refresh; ids that no longer exist are removed
+    private void refreshPending() {
+        List<Integer> ids = new ArrayList<>(pendingIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        pendingIds.removeAll(ids);
+
+        try (Connection conn = DBUtils.getConnection()) {
+            for (int from = 0; from < ids.size(); from += REFRESH_CHUNK) {
+                List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + REFRESH_CHUNK));
+                String sql = "SELECT id, name, category, quantity, price, created_at FROM inventory_items WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                Set<Integer> missing = new HashSet<>(chunk);
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            Row row = mapRow(rs);
+                            put(row);
+                            missing.remove(row.id);
+                        }
+                    }
+                }
+                missing.forEach(this::remove);
+            }
+        } catch (SQLException e) {
+            // Try again with the next refresh
+            pendingIds.addAll(ids);
+            System.err.println("Inventory mirror refresh failed: " + e.getMessage());
+        }
+    }
+
+    // A renamed row briefly drops out of the name index; an unchanged name is replaced in place
+    private void put(Row row) {
+        Row old = rows.put(row.id, row);
+        NameKey key = new NameKey(row);
+        if (old != null && !old.nameKey().equals(key)) {
+            byName.remove(old.nameKey());
+        }
+        byName.put(key, row);
+    }
+
+    private void remove(int id) {
+        Row old = rows.remove(id);
+        if (old != null) {
+            byName.remove(old.nameKey());
+        }
+    }
+
+    private void queueRefresh(Set<Integer> ids) {
+        if (pendingIds.addAll(ids) && !refresher.isShutdown()) {
+            refresher.execute(this::refreshPending);
+        }
+    }
+
+    private Row mapRow(ResultSet rs) throws SQLException {
+        return new Row(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getInt(4), rs.getDouble(5),
+                timestamps.read(rs, 6));
+    }
+
+    // Installs a ChangeTracker on each pooled connection
+    private class HookInstaller implements ConnectionPool.ConnectionListener {
+        @Override
+        public void attached(Connection conn) throws SQLException {
+            ChangeTracker tracker = new ChangeTracker();
+            SQLiteConnection sqlite = conn.unwrap(SQLiteConnection.class);
+            sqlite.addUpdateListener(tracker);
+            sqlite.addCommitListener(tracker);
+            trackers.put(conn, tracker);
+        }
+
+        @Override
+        public void released(Connection conn) {
+            ChangeTracker tracker = trackers.get(conn);
+            if (tracker != null && !tracker.committed.isEmpty()) {
+                queueRefresh(tracker.committed);
+                tracker.committed.clear();
+            }
+        }
+    }
+
+    // Collects inventory_items row ids changed on one connection; used only by that connection's thread
+    private static class ChangeTracker implements SQLiteUpdateListener, SQLiteCommitListener {
+        private final Set<Integer> uncommitted = new HashSet<>();
+        private final Set<Integer> committed = new HashSet<>();
+
+        @Override
+        public void onUpdate(Type type, String database, String table, long rowId) {
+            if ("inventory_items".equals(table)) {
+                uncommitted.add((int) rowId);
+            }
+        }
+
+        // The commit hook runs just before the commit completes, so the ids are only
+        // handed to the refresher when the connection is released
+        @Override
+        public void onCommit() {
+            committed.addAll(uncommitted);
+            uncommitted.clear();
+        }
+
+        @Override
+        public void onRollback() {
+            uncommitted.clear();
+        }
+    }
+
+    // Position in name order: the name folded like NOCASE, then the id
+    private static final class NameKey implements Comparable<NameKey> {
+        private final String folded;
+        private final int id;
+
+        private NameKey(Row row) {
+            this.folded = DBUtils.foldNoCase(row.name);
+            this.id = row.id;
+        }
+
+        @Override
+        public int compareTo(NameKey other) {
+            int byName = folded.compareTo(other.folded);
+            return byName != 0 ? byName : Integer.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof NameKey key && id == key.id && folded.equals(key.folded);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * folded.hashCode() + id;
+        }
+    }
+
+    /**
+     * Mirrored copy of the item columns used by reports and aggregates.
+     */
+    public static class Row {
+        private final int id;
+        private final String name;
+        private final String category;
+        private final int quantity;
+        private final double price;
+        private final LocalDateTime createdAt;
+
+        private Row(int id, String name, String category, int quantity, double price, LocalDateTime createdAt) {
+            this.id = id;
+            this.name = name;
+            this.category = category;
+            this.quantity = quantity;
+            this.price = price;
+            this.createdAt = createdAt;
+        }
+
+        public int getId() { return id; }
+        public String getName() { return name; }
+        public String getCategory() { return category; }
+        public int getQuantity() { return quantity; }
+        public double getPrice() { return price; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public LocalDate getAddedDate() { return createdAt.toLocalDate(); }
+
+        private NameKey nameKey() { return new NameKey(this); }
+    }
+}
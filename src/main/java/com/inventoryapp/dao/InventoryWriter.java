@@ -0,0 +1,353 @@
+package com.inventoryapp.dao;
+
+import com.inventoryapp.model.InventoryItem;
+import com.inventoryapp.util.DBUtils;
+import com.inventoryapp.util.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-writer pipeline for inventory mutations.
+ * Any thread may submit commands; one writer thread drains the queue and runs
+ * whatever has accumulated, up to a size and latency bound, in a single
+ * transaction. SQLite allows only one writer anyway, so this removes lock
+ * contention between callers and pays one commit (and one fsync) per group
+ * instead of per command. Each command gets its own savepoint, so a failing
+ * command does not roll back the others, and its future completes only after
+ * the group is committed.
+ */
+public class InventoryWriter {
+
+    private static volatile InventoryWriter instance;
+
+    private final InventoryDAO inventoryDAO;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Command<?>> queue;
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder commitCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLong maxBatchSeen = new AtomicLong();
+
+    // Sentinel queued by shutdown(); everything submitted before it is still written
+    private static final Command<Void> STOP = new Command<>(conn -> null);
+
+    public InventoryWriter(InventoryDAO inventoryDAO, int maxBatch, long maxDelayMicros, int queueCapacity) {
+        this.inventoryDAO = inventoryDAO;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxDelayMicros));
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.writerThread = new Thread(this::run, "inventory-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    // Shared writer configured from database.properties, created on first use
+    public static InventoryWriter getInstance() {
+        InventoryWriter result = instance;
+        if (result == null) {
+            synchronized (InventoryWriter.class) {
+                result = instance;
+                if (result == null) {
+                    result = new InventoryWriter(
+                            new InventoryDAO(),
+                            DatabaseConfig.getInt("db.writer.maxBatch", 256),
+                            DatabaseConfig.getLong("db.writer.maxDelayMicros", 2000),
+                            DatabaseConfig.getInt("db.writer.queueCapacity", 10000));
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Flush and stop the shared writer (call once on application exit, before the pool closes)
+    public static void shutdownInstance() {
+        synchronized (InventoryWriter.class) {
+            if (instance != null) {
+                System.out.println("Stopping inventory writer: " + instance.getMetrics());
+                instance.shutdown();
+                instance = null;
+            }
+        }
+    }
+
+    // === Commands ===
+
+    // Insert an item; completes with the generated id once committed.
+    // The item is not modified: callers set the id on their own thread.
+    public CompletableFuture<Integer> addItem(InventoryItem item) {
+        return submit(conn -> inventoryDAO.insertItem(conn, item));
+    }
+
+    // Completes with false if no item has the item's id
+    public CompletableFuture<Boolean> updateItem(InventoryItem item) {
+        // Timestamped here, on the caller's thread; the writer only reads the item
+        LocalDateTime updatedAt = LocalDateTime.now();
+        return submit(conn -> inventoryDAO.updateItem(conn, item, updatedAt));
+    }
+
+    // Write the item's details and apply a stock delta atomically; quantity itself is never overwritten.
+    // Fails with IllegalStateException (and changes nothing) if the stock would go negative.
+    public CompletableFuture<Boolean> updateItem(InventoryItem item, int quantityDelta) {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        return submit(conn -> {
+            if (!inventoryDAO.updateItemDetails(conn, item, updatedAt)) {
+                return false;
+            }
+            if (quantityDelta != 0 && inventoryDAO.adjustQuantity(conn, item.getId(), quantityDelta) == null) {
+                throw new IllegalStateException("Not enough stock for '" + item.getName() + "'.");
+            }
+            return true;
+        });
+    }
+
+    public CompletableFuture<Boolean> deleteItem(int id) {
+        return submit(conn -> inventoryDAO.deleteItem(conn, id));
+    }
+
+    // Completes with the new quantity, or null if the item is missing or the stock would go negative
+    public CompletableFuture<Integer> adjustQuantity(int id, int delta) {
+        return submit(conn -> inventoryDAO.adjustQuantity(conn, id, delta));
+    }
+
+    // Run custom work inside the next group commit; blocks while the queue is full
+    public <T> CompletableFuture<T> submit(WriteWork<T> work) {
+        Command<T> command = new Command<>(work);
+        if (closed) {
+            command.future.completeExceptionally(new IllegalStateException("Inventory writer is shut down."));
+            return command.future;
+        }
+        try {
+            queue.put(command);
+            submittedCount.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            command.future.completeExceptionally(e);
+        }
+        return command.future;
+    }
+
+    // Refuse new commands, write everything already queued, then stop the writer thread
+    public void shutdown() {
+        closed = true;
+        try {
+            queue.put(STOP);
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Commands that raced with shutdown are never written
+        Command<?> command;
+        while ((command = queue.poll()) != null) {
+            command.future.completeExceptionally(new IllegalStateException("Inventory writer is shut down."));
+        }
+    }
+
+    public WriterMetrics getMetrics() {
+        long completed = completedCount.sum();
+        long failed = failedCount.sum();
+        long commits = commitCount.sum();
+        long finished = completed + failed;
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return new WriterMetrics(queue.size(), submittedCount.sum(), completed, failed, commits,
+                commits == 0 ? 0 : (double) finished / commits, maxBatchSeen.get(),
+                finished == 0 ? 0 : totalLatencyNanos.sum() / finished / 1000,
+                maxLatencyNanos.get() / 1000,
+                seconds <= 0 ? 0 : completed / seconds);
+    }
+
+    // === Writer thread ===
+
+    private void run() {
+        List<Command<?>> group = new ArrayList<>(maxBatch);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                Command<?> first = queue.take();
+                if (first == STOP) {
+                    break;
+                }
+                group.add(first);
+                stopping = collectGroup(group);
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+            if (!group.isEmpty()) {
+                writeGroup(group);
+                group.clear();
+            }
+        }
+    }
+
+    // Add queued commands until the group is full or the latency window closes; true if STOP was seen
+    private boolean collectGroup(List<Command<?>> group) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (group.size() < maxBatch) {
+            Command<?> next = queue.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+            }
+            if (next == STOP) {
+                return true;
+            }
+            group.add(next);
+        }
+        return false;
+    }
+
+    private void writeGroup(List<Command<?>> group) {
+        Object[] results = new Object[group.size()];
+        Throwable[] errors = new Throwable[group.size()];
+
+        try (Connection conn = DBUtils.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int i = 0; i < group.size(); i++) {
+                    Savepoint savepoint = conn.setSavepoint();
+                    try {
+                        results[i] = group.get(i).work.execute(conn);
+                        conn.releaseSavepoint(savepoint);
+                    } catch (SQLException | RuntimeException e) {
+                        conn.rollback(savepoint);
+                        errors[i] = e;
+                    }
+                }
+                conn.commit();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            // Nothing in the group was committed
+            System.err.println("Inventory writer commit failed: " + e.getMessage());
+            for (int i = 0; i < group.size(); i++) {
+                if (errors[i] == null) {
+                    errors[i] = e;
+                }
+            }
+        }
+        commitCount.increment();
+        maxBatchSeen.accumulateAndGet(group.size(), Math::max);
+
+        long now = System.nanoTime();
+        for (int i = 0; i < group.size(); i++) {
+            Command<?> command = group.get(i);
+            long latency = now - command.submittedNanos;
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            if (errors[i] == null) {
+                completedCount.increment();
+                command.complete(results[i]);
+            } else {
+                failedCount.increment();
+                command.future.completeExceptionally(errors[i]);
+            }
+        }
+    }
+
+    /**
+     * Work run by the writer thread inside the group transaction.
+     */
+    @FunctionalInterface
+    public interface WriteWork<T> {
+        T execute(Connection conn) throws SQLException;
+    }
+
+    private static class Command<T> {
+        private final WriteWork<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long submittedNanos = System.nanoTime();
+
+        private Command(WriteWork<T> work) {
+            this.work = work;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object result) {
+            future.complete((T) result);
+        }
+    }
+
+    /**
+     * Snapshot of writer throughput and latency (submit to commit).
+     */
+    public static class WriterMetrics {
+        private final int queued;
+        private final long submitted;
+        private final long completed;
+        private final long failed;
+        private final long commits;
+        private final double averageBatchSize;
+        private final long maxBatchSize;
+        private final long averageLatencyMicros;
+        private final long maxLatencyMicros;
+        private final double commandsPerSecond;
+
+        private WriterMetrics(int queued, long submitted, long completed, long failed, long commits,
+                              double averageBatchSize, long maxBatchSize, long averageLatencyMicros,
+                              long maxLatencyMicros, double commandsPerSecond) {
+            this.queued = queued;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.failed = failed;
+            this.commits = commits;
+            this.averageBatchSize = averageBatchSize;
+            this.maxBatchSize = maxBatchSize;
+            this.averageLatencyMicros = averageLatencyMicros;
+            this.maxLatencyMicros = maxLatencyMicros;
+            this.commandsPerSecond = commandsPerSecond;
+        }
+
+        public int getQueued() { return queued; }
+        public long getSubmitted() { return submitted; }
+        public long getCompleted() { return completed; }
+        public long getFailed() { return failed; }
+        public long getCommits() { return commits; }
+        public double getAverageBatchSize() { return averageBatchSize; }
+        public long getMaxBatchSize() { return maxBatchSize; }
+        public long getAverageLatencyMicros() { return averageLatencyMicros; }
+        public long getMaxLatencyMicros() { return maxLatencyMicros; }
+        public double getCommandsPerSecond() { return commandsPerSecond; }
+
+        @Override
+        public String toString() {
+            return "WriterMetrics{" +
+                    "queued=" + queued +
+                    ", submitted=" + submitted +
+                    ", completed=" + completed +
+                    ", failed=" + failed +
+                    ", commits=" + commits +
+                    ", avgBatch=" + String.format("%.1f", averageBatchSize) +
+                    ", maxBatch=" + maxBatchSize +
+                    ", avgLatencyMicros=" + averageLatencyMicros +
+                    ", maxLatencyMicros=" + maxLatencyMicros +
+                    ", perSecond=" + String.format("%.0f", commandsPerSecond) +
+                    '}';
+        }
+    }
+}
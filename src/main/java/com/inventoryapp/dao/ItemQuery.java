@@ -0,0 +1,93 @@
+package com.inventoryapp.dao;
+
+import com.inventoryapp.util.DBUtils;
+import com.inventoryapp.util.TimestampFormat;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Filter for inventory item queries.
+ * Conditions are combined with AND and rendered as a parameterized WHERE
+ * clause, so filtering happens inside SQLite and only matching rows are read.
+ * The same conditions can also be tested against {@link InventoryMirror} rows.
+ */
+public class ItemQuery {
+
+    private final List<String> conditions = new ArrayList<>();
+    private final List<Object> parameters = new ArrayList<>();
+    private final List<Predicate<InventoryMirror.Row>> predicates = new ArrayList<>();
+
+    // Query matching every item; add conditions with the builder methods
+    public static ItemQuery all() {
+        return new ItemQuery();
+    }
+
+    // Category equals the given value, ignoring case
+    public ItemQuery category(String category) {
+        return where("category = ? COLLATE NOCASE", category, row -> category.equalsIgnoreCase(row.getCategory()));
+    }
+
+    public ItemQuery minQuantity(int minQuantity) {
+        return where("quantity >= ?", minQuantity, row -> row.getQuantity() >= minQuantity);
+    }
+
+    public ItemQuery maxQuantity(int maxQuantity) {
+        return where("quantity <= ?", maxQuantity, row -> row.getQuantity() <= maxQuantity);
+    }
+
+    // Items created on any day from startDate to endDate inclusive
+    // (a half-open range, so idx_inventory_items_created_at from migration 4 can serve it)
+    public ItemQuery createdBetween(LocalDate startDate, LocalDate endDate) {
+        TimestampFormat format = DBUtils.getTimestampFormat();
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+        where("created_at >= ?", format.toDatabase(start), row -> !row.getCreatedAt().isBefore(start));
+        return where("created_at < ?", format.toDatabase(end), row -> row.getCreatedAt().isBefore(end));
+    }
+
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    // " WHERE ..." for the collected conditions, or an empty string when there are none
+    public String toWhereClause() {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    // Bind the parameters starting at the given index; returns the next free index
+    public int bind(PreparedStatement pstmt, int startIndex) throws SQLException {
+        int index = startIndex;
+        for (Object parameter : parameters) {
+            pstmt.setObject(index++, parameter);
+        }
+        return index;
+    }
+
+    // In-memory equivalent of the WHERE clause
+    public boolean matches(InventoryMirror.Row row) {
+        for (Predicate<InventoryMirror.Row> predicate : predicates) {
+            if (!predicate.test(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ItemQuery where(String condition, Object parameter, Predicate<InventoryMirror.Row> predicate) {
+        conditions.add(condition);
+        parameters.add(parameter);
+        predicates.add(predicate);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ItemQuery{" + toWhereClause().trim() + ", parameters=" + parameters + '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.inventoryapp.dao;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Lets another thread stop a query that a DAO call is running.
+ * The DAO registers its statement for as long as the query runs and
+ * cancel() interrupts it (sqlite3_interrupt). Statement.cancel() interrupts
+ * the whole connection, so the statement is unregistered before the
+ * connection goes back to the pool.
+ */
+public class QueryCanceller {
+
+    private Statement statement;
+    private boolean cancelled;
+
+    public synchronized void cancel() {
+        cancelled = true;
+        if (statement != null) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                System.err.println("Error cancelling query: " + e.getMessage());
+            }
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    // A statement registered after cancel() is refused before it runs
+    synchronized void register(Statement statement) throws SQLException {
+        if (cancelled) {
+            throw new SQLException("Query cancelled.");
+        }
+        this.statement = statement;
+    }
+
+    synchronized void unregister(Statement statement) {
+        if (this.statement == statement) {
+            this.statement = null;
+        }
+    }
+}
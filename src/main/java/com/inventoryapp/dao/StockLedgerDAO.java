@@ -0,0 +1,200 @@
+package com.inventoryapp.dao;
+
+import com.inventoryapp.model.StockMovement;
+import com.inventoryapp.model.StockMovementSummary;
+import com.inventoryapp.util.DBUtils;
+import com.inventoryapp.util.TimestampFormat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for the stock movement ledger.
+ * Movements are written by triggers on inventory_items (see SchemaMigrator),
+ * so this class only reads them and compacts old ones into stock_snapshots.
+ * All ledger times are epoch milliseconds.
+ */
+public class StockLedgerDAO {
+
+    // getQuantityAt result for a time the ledger no longer covers
+    public static final int HISTORY_COMPACTED = -1;
+
+    // Fold the oldest movements into the per-item snapshot, keeping the latest quantity
+    private static final String COMPACT_SNAPSHOT_SQL = """
+        INSERT INTO stock_snapshots (item_id, quantity, as_of, movements_compacted)
+        SELECT item_id, quantity_after, moved_at, movement_count FROM (
+            SELECT item_id, quantity_after, moved_at,
+                   COUNT(*) OVER (PARTITION BY item_id) AS movement_count,
+                   ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY moved_at DESC, id DESC) AS position
+            FROM stock_movements
+            WHERE moved_at < ? AND id <= ?
+        ) WHERE position = 1
+        ON CONFLICT(item_id) DO UPDATE SET
+            quantity = CASE WHEN excluded.as_of >= as_of THEN excluded.quantity ELSE quantity END,
+            as_of = MAX(as_of, excluded.as_of),
+            movements_compacted = movements_compacted + excluded.movements_compacted
+    """;
+
+    // Movements of one item in [from, to), oldest first
+    public List<StockMovement> getMovements(int itemId, LocalDateTime from, LocalDateTime to) {
+        List<StockMovement> movements = new ArrayList<>();
+        String sql = "SELECT id, item_id, delta, quantity_after, reason, moved_at FROM stock_movements "
+                + "WHERE item_id = ? AND moved_at >= ? AND moved_at < ? ORDER BY moved_at, id";
+
+        try (Connection conn = DBUtils.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, itemId);
+            pstmt.setLong(2, TimestampFormat.toEpochMillis(from));
+            pstmt.setLong(3, TimestampFormat.toEpochMillis(to));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    movements.add(new StockMovement(rs.getLong(1), rs.getInt(2), rs.getInt(3), rs.getInt(4),
+                            rs.getString(5), TimestampFormat.fromEpochMillis(rs.getLong(6))));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading stock movements: " + e.getMessage());
+        }
+
+        return movements;
+    }
+
+    // Units in and out per item over [from, to), busiest items first
+    public List<StockMovementSummary> summarizeMovements(LocalDateTime from, LocalDateTime to) {
+        List<StockMovementSummary> summaries = new ArrayList<>();
+        String sql = """
+            SELECT m.item_id, i.name,
+                   SUM(CASE WHEN m.delta > 0 THEN m.delta ELSE 0 END) AS units_in,
+                   SUM(CASE WHEN m.delta < 0 THEN -m.delta ELSE 0 END) AS units_out,
+                   COUNT(*) AS movements
+            FROM stock_movements m
+            LEFT JOIN inventory_items i ON i.id = m.item_id
+            WHERE m.moved_at >= ? AND m.moved_at < ?
+            GROUP BY m.item_id
+            ORDER BY units_in + units_out DESC, m.item_id
+        """;
+
+        try (Connection conn = DBUtils.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setLong(1, TimestampFormat.toEpochMillis(from));
+            pstmt.setLong(2, TimestampFormat.toEpochMillis(to));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(new StockMovementSummary(rs.getInt(1), rs.getString(2), rs.getInt(3),
+                            rs.getInt(4), rs.getInt(5)));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error summarizing stock movements: " + e.getMessage());
+        }
+
+        return summaries;
+    }
+
+    // Quantity an item had at the given time: the last movement before it, else the compacted snapshot.
+    // Returns HISTORY_COMPACTED when the movements up to that time were compacted into a later snapshot,
+    // 0 when the item has no ledger rows before it, and null on a database error.
+    public Integer getQuantityAt(int itemId, LocalDateTime at) {
+        String sql = """
+            SELECT quantity_after FROM stock_movements
+            WHERE item_id = ? AND moved_at <= ?
+            ORDER BY moved_at DESC, id DESC LIMIT 1
+        """;
+        String snapshotSql = "SELECT quantity, as_of FROM stock_snapshots WHERE item_id = ?";
+        long atMillis = TimestampFormat.toEpochMillis(at);
+
+        try (Connection conn = DBUtils.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, itemId);
+                pstmt.setLong(2, atMillis);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt(1);
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(snapshotSql)) {
+                pstmt.setInt(1, itemId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getLong(2) <= atMillis ? rs.getInt(1) : HISTORY_COMPACTED;
+                    }
+                }
+            }
+            return 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error reading historical quantity: " + e.getMessage());
+        }
+
+        return null;
+    }
+
+    public long countMovements() {
+        try (Connection conn = DBUtils.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM stock_movements")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            System.err.println("Error counting stock movements: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    // Roll up to maxMovements movements older than the cutoff into snapshots and delete them,
+    // in one short transaction. Returns how many movements were compacted (0 when done).
+    public int compactBefore(LocalDateTime cutoff, int maxMovements) throws SQLException {
+        long cutoffMillis = TimestampFormat.toEpochMillis(cutoff);
+
+        try (Connection conn = DBUtils.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                long lastId;
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "SELECT MAX(id) FROM (SELECT id FROM stock_movements WHERE moved_at < ? ORDER BY id LIMIT ?)")) {
+                    pstmt.setLong(1, cutoffMillis);
+                    pstmt.setInt(2, maxMovements);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        lastId = rs.next() ? rs.getLong(1) : 0;
+                    }
+                }
+                if (lastId == 0) {
+                    conn.rollback();
+                    return 0;
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement(COMPACT_SNAPSHOT_SQL)) {
+                    pstmt.setLong(1, cutoffMillis);
+                    pstmt.setLong(2, lastId);
+                    pstmt.executeUpdate();
+                }
+                int deleted;
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "DELETE FROM stock_movements WHERE moved_at < ? AND id <= ?")) {
+                    pstmt.setLong(1, cutoffMillis);
+                    pstmt.setLong(2, lastId);
+                    deleted = pstmt.executeUpdate();
+                }
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.inventoryapp.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distinct dates of a report, each given a small int code
+ * Rows store the code instead of a LocalDate; null dates have their own code
+ */
+public class DateDictionary {
+    private static final int NO_DATE = -1;
+
+    private final List<LocalDate> dates = new ArrayList<>();
+    private final Map<LocalDate, Integer> codes = new HashMap<>();
+
+    // Code of a date, added if new
+    public int encode(LocalDate date) {
+        if (date == null) {
+            return NO_DATE;
+        }
+        Integer code = codes.get(date);
+        if (code == null) {
+            code = dates.size();
+            dates.add(date);
+            codes.put(date, code);
+        }
+        return code;
+    }
+
+    public LocalDate decode(int code) {
+        return code == NO_DATE ? null : dates.get(code);
+    }
+
+    public int size() {
+        return dates.size();
+    }
+
+    @Override
+    public String toString() {
+        return "DateDictionary{" +
+                "size=" + dates.size() +
+                '}';
+    }
+}
@@ -1,7 +1,9 @@
 package com.inventoryapp.model;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * Inventory Item Model Class
@@ -19,10 +21,15 @@ public class InventoryItem {
     private LocalDateTime updatedAt;
     private LocalDate addedDate;
 
+    // Stored epoch millis not decoded yet; NOT_LOADED once createdAt/updatedAt hold the value
+    private static final long NOT_LOADED = Long.MIN_VALUE;
+    private long createdAtMillis = NOT_LOADED;
+    private long updatedAtMillis = NOT_LOADED;
+
     // Default constructor
     public InventoryItem() {
         this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
     }
     
     // Constructor with parameters
@@ -37,6 +44,34 @@ public class InventoryItem {
         this.supplier = supplier;
     }
     
+    // Constructor for rows loaded from the database; takes the stored timestamps as-is
+    public InventoryItem(int id, String name, String description, String category, int quantity,
+                        double price, String supplier, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        this.quantity = quantity;
+        this.price = price;
+        this.supplier = supplier;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Constructor for rows whose timestamps are stored as epoch millis; they are decoded on first access
+    public InventoryItem(int id, String name, String description, String category, int quantity,
+                        double price, String supplier, long createdAtMillis, long updatedAtMillis) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        this.quantity = quantity;
+        this.price = price;
+        this.supplier = supplier;
+        this.createdAtMillis = createdAtMillis;
+        this.updatedAtMillis = updatedAtMillis;
+    }
+    
     // Getters and Setters
     public int getId() {
         return id;
@@ -95,22 +130,36 @@ public class InventoryItem {
     }
     
     public LocalDateTime getCreatedAt() {
+        if (createdAtMillis != NOT_LOADED) {
+            createdAt = toLocalDateTime(createdAtMillis);
+            createdAtMillis = NOT_LOADED;
+        }
         return createdAt;
     }
     
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
+        this.createdAtMillis = NOT_LOADED;
     }
     
     public LocalDateTime getUpdatedAt() {
+        if (updatedAtMillis != NOT_LOADED) {
+            updatedAt = toLocalDateTime(updatedAtMillis);
+            updatedAtMillis = NOT_LOADED;
+        }
         return updatedAt;
     }
     
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
+        this.updatedAtMillis = NOT_LOADED;
     }
     
-     public LocalDate getAddedDate() {
+    // Date the item was added; defaults to the date part of createdAt
+    public LocalDate getAddedDate() {
+        if (addedDate == null && getCreatedAt() != null) {
+            return getCreatedAt().toLocalDate();
+        }
         return addedDate;
     }
 
@@ -128,8 +177,12 @@ public class InventoryItem {
                 ", quantity=" + quantity +
                 ", price=" + price +
                 ", supplier='" + supplier + '\'' +
-                ", createdAt=" + createdAt +
-                ", updatedAt=" + updatedAt +
+                ", createdAt=" + getCreatedAt() +
+                ", updatedAt=" + getUpdatedAt() +
                 '}';
     }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
 }
\ No newline at end of file
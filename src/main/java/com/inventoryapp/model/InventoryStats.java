@@ -0,0 +1,69 @@
+package com.inventoryapp.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Inventory Statistics Model Class
+ * Totals shown on the dashboard stat cards, overall and per category
+ */
+public class InventoryStats {
+
+    private int totalItems;
+    private int lowStockItems;
+    private int outOfStockItems;
+    private double totalValue;
+    private final Map<String, InventoryStats> categories = new LinkedHashMap<>();
+
+    public InventoryStats() {
+    }
+
+    public InventoryStats(int totalItems, int lowStockItems, int outOfStockItems, double totalValue) {
+        this.totalItems = totalItems;
+        this.lowStockItems = lowStockItems;
+        this.outOfStockItems = outOfStockItems;
+        this.totalValue = totalValue;
+    }
+
+    // Add a category's figures to the breakdown and to the overall totals
+    public void addCategory(String category, InventoryStats stats) {
+        categories.put(category, stats);
+        totalItems += stats.getTotalItems();
+        lowStockItems += stats.getLowStockItems();
+        outOfStockItems += stats.getOutOfStockItems();
+        totalValue += stats.getTotalValue();
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    public int getLowStockItems() {
+        return lowStockItems;
+    }
+
+    public int getOutOfStockItems() {
+        return outOfStockItems;
+    }
+
+    public double getTotalValue() {
+        return totalValue;
+    }
+
+    // Per-category figures keyed by category name
+    public Map<String, InventoryStats> getCategories() {
+        return Collections.unmodifiableMap(categories);
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryStats{" +
+                "totalItems=" + totalItems +
+                ", lowStockItems=" + lowStockItems +
+                ", outOfStockItems=" + outOfStockItems +
+                ", totalValue=" + totalValue +
+                ", categories=" + categories.keySet() +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventoryapp.model;
+
+/**
+ * Lightweight inventory row for table views
+ * Holds only the columns the dashboard tables display
+ */
+public class ItemListRow {
+    private final int id;
+    private final String name;
+    private final String category;
+    private final int quantity;
+    private final double price;
+
+    public ItemListRow(int id, String name, String category, int quantity, double price) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    @Override
+    public String toString() {
+        return "ItemListRow{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", category='" + category + '\'' +
+                ", quantity=" + quantity +
+                ", price=" + price +
+                '}';
+    }
+}
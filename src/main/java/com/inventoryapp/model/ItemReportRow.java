@@ -0,0 +1,54 @@
+package com.inventoryapp.model;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight inventory row for stock reports
+ * Holds only the columns that reports and exports print
+ */
+public class ItemReportRow {
+    private final int id;
+    private final String name;
+    private final int quantity;
+    private final double price;
+    private final LocalDate addedDate;
+
+    public ItemReportRow(int id, String name, int quantity, double price, LocalDate addedDate) {
+        this.id = id;
+        this.name = name;
+        this.quantity = quantity;
+        this.price = price;
+        this.addedDate = addedDate;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public LocalDate getAddedDate() {
+        return addedDate;
+    }
+
+    @Override
+    public String toString() {
+        return "ItemReportRow{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", quantity=" + quantity +
+                ", price=" + price +
+                ", addedDate=" + addedDate +
+                '}';
+    }
+}
@@ -0,0 +1,141 @@
+package com.inventoryapp.model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Report rows stored column by column
+ * Numbers are kept in primitive arrays and dates as codes into a DateDictionary,
+ * so a row costs no objects beyond its name, which is shared with the row it
+ * was read from
+ */
+public class ReportColumns {
+    private final DateDictionary dates;
+
+    private int size;
+    private int[] ids;
+    private String[] names;
+    private int[] quantities;
+    private double[] prices;
+    private int[] dateCodes;
+    public ReportColumns() {
+        this(1024, new DateDictionary());
+    }
+
+    public ReportColumns(int initialCapacity, DateDictionary dates) {
+        this.dates = dates;
+        int capacity = Math.max(16, initialCapacity);
+        ids = new int[capacity];
+        names = new String[capacity];
+        quantities = new int[capacity];
+        prices = new double[capacity];
+        dateCodes = new int[capacity];
+    }
+
+    public void add(ItemReportRow row) {
+        add(row.getId(), row.getName(), row.getQuantity(), row.getPrice(), row.getAddedDate());
+    }
+
+    public void add(int id, String name, int quantity, double price, LocalDate addedDate) {
+        if (size == ids.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            dateCodes = Arrays.copyOf(dateCodes, capacity);
+        }
+        ids[size] = id;
+        names[size] = name;
+        quantities[size] = quantity;
+        prices[size] = price;
+        dateCodes[size] = dates.encode(addedDate);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public String getName(int row) {
+        return names[row];
+    }
+
+    public int getQuantity(int row) {
+        return quantities[row];
+    }
+
+    public double getPrice(int row) {
+        return prices[row];
+    }
+
+    public LocalDate getAddedDate(int row) {
+        return dates.decode(dateCodes[row]);
+    }
+
+    // The row as an object, for views that need one (e.g. table cells)
+    public ItemReportRow getRow(int row) {
+        return new ItemReportRow(ids[row], names[row], quantities[row], prices[row], getAddedDate(row));
+    }
+
+    public DateDictionary getDates() {
+        return dates;
+    }
+
+    public ReportCursor cursor() {
+        return new ReportCursor() {
+            private int row = -1;
+
+            @Override
+            public boolean next() {
+                if (row + 1 >= size) {
+                    row = size;
+                    return false;
+                }
+                row++;
+                return true;
+            }
+
+            @Override
+            public int getId() {
+                return ids[row];
+            }
+
+            @Override
+            public String getName() {
+                return names[row];
+            }
+
+            @Override
+            public int getQuantity() {
+                return quantities[row];
+            }
+
+            @Override
+            public double getPrice() {
+                return prices[row];
+            }
+
+            @Override
+            public LocalDate getAddedDate() {
+                return ReportColumns.this.getAddedDate(row);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "ReportColumns{" +
+                "size=" + size +
+                ", distinctDates=" + dates.size() +
+                '}';
+    }
+}
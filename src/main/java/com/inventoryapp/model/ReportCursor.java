@@ -0,0 +1,25 @@
+package com.inventoryapp.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Forward-only view over the rows of a report
+ * The getters return the current row's columns, so reading a row allocates nothing
+ */
+public interface ReportCursor extends Closeable {
+
+    // Move to the next row; false once there are no more
+    boolean next() throws IOException;
+
+    int getId();
+
+    String getName();
+
+    int getQuantity();
+
+    double getPrice();
+
+    LocalDate getAddedDate();
+}
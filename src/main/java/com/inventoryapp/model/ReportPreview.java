@@ -0,0 +1,39 @@
+package com.inventoryapp.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * First rows of a stock report plus the exact number of rows it contains
+ * Previews stay small however large the report is; exports read every row
+ */
+public class ReportPreview {
+    private final List<ItemReportRow> rows;
+    private final long totalRows;
+
+    public ReportPreview(List<ItemReportRow> rows, long totalRows) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.totalRows = totalRows;
+    }
+
+    public List<ItemReportRow> getRows() {
+        return rows;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    // Rows in the report that the preview leaves out
+    public long getHiddenRows() {
+        return Math.max(0, totalRows - rows.size());
+    }
+
+    @Override
+    public String toString() {
+        return "ReportPreview{" +
+                "shown=" + rows.size() +
+                ", totalRows=" + totalRows +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.inventoryapp.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock Movement Model Class
+ * One change to an item's quantity, as recorded in the stock ledger
+ */
+public class StockMovement {
+    private final long id;
+    private final int itemId;
+    private final int delta;
+    private final int quantityAfter;
+    private final String reason;
+    private final LocalDateTime movedAt;
+
+    public StockMovement(long id, int itemId, int delta, int quantityAfter, String reason, LocalDateTime movedAt) {
+        this.id = id;
+        this.itemId = itemId;
+        this.delta = delta;
+        this.quantityAfter = quantityAfter;
+        this.reason = reason;
+        this.movedAt = movedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    // Units added (positive) or removed (negative)
+    public int getDelta() {
+        return delta;
+    }
+
+    public int getQuantityAfter() {
+        return quantityAfter;
+    }
+
+    // opening, added, adjusted or deleted
+    public String getReason() {
+        return reason;
+    }
+
+    public LocalDateTime getMovedAt() {
+        return movedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StockMovement{" +
+                "id=" + id +
+                ", itemId=" + itemId +
+                ", delta=" + delta +
+                ", quantityAfter=" + quantityAfter +
+                ", reason='" + reason + '\'' +
+                ", movedAt=" + movedAt +
+                '}';
+    }
+}
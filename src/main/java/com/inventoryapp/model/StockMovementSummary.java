@@ -0,0 +1,58 @@
+package com.inventoryapp.model;
+
+/**
+ * Stock Movement Summary Model Class
+ * Units moved in and out of one item over a period
+ */
+public class StockMovementSummary {
+    private final int itemId;
+    private final String itemName;
+    private final int unitsIn;
+    private final int unitsOut;
+    private final int movements;
+
+    public StockMovementSummary(int itemId, String itemName, int unitsIn, int unitsOut, int movements) {
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.unitsIn = unitsIn;
+        this.unitsOut = unitsOut;
+        this.movements = movements;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    // Null if the item has since been deleted
+    public String getItemName() {
+        return itemName;
+    }
+
+    public int getUnitsIn() {
+        return unitsIn;
+    }
+
+    // Units removed, as a positive number
+    public int getUnitsOut() {
+        return unitsOut;
+    }
+
+    public int getNetChange() {
+        return unitsIn - unitsOut;
+    }
+
+    public int getMovements() {
+        return movements;
+    }
+
+    @Override
+    public String toString() {
+        return "StockMovementSummary{" +
+                "itemId=" + itemId +
+                ", itemName='" + itemName + '\'' +
+                ", unitsIn=" + unitsIn +
+                ", unitsOut=" + unitsOut +
+                ", movements=" + movements +
+                '}';
+    }
+}
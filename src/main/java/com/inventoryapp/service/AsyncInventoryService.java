@@ -0,0 +1,206 @@
+package com.inventoryapp.service;
+
+import com.inventoryapp.dao.InventoryDAO;
+import com.inventoryapp.dao.InventoryWriter;
+import com.inventoryapp.model.InventoryItem;
+import com.inventoryapp.model.InventoryStats;
+import com.inventoryapp.model.ItemListRow;
+import com.inventoryapp.util.DatabaseConfig;
+import javafx.application.Platform;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs inventory queries and writes off the JavaFX Application Thread.
+ * Work goes to a small shared executor sized to the connection pool, so the
+ * number of concurrent database calls is capped no matter how many screens
+ * ask for data. Results are handed back on the FX thread through
+ * {@link RequestSlot}, which also drops answers to superseded requests.
+ * Writes are queued on the shared {@link InventoryWriter}.
+ */
+public class AsyncInventoryService {
+
+    // Concurrent database tasks; more than the pool size would only wait for connections
+    private static final int THREADS = DatabaseConfig.getInt("db.async.threads",
+            DatabaseConfig.getInt("db.pool.size", 4));
+
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    // Executor that runs callbacks on the JavaFX Application Thread
+    public static final Executor FX_THREAD = Platform::runLater;
+
+    private final InventoryService inventoryService;
+    private final InventoryDAO inventoryDAO;
+
+    public AsyncInventoryService() {
+        this(new InventoryDAO());
+    }
+
+    public AsyncInventoryService(InventoryDAO inventoryDAO) {
+        this.inventoryDAO = inventoryDAO;
+        this.inventoryService = new InventoryService(inventoryDAO);
+    }
+
+    // Run any blocking work on the database executor; cancelling a queued task skips it
+    public static <T> CompletableFuture<T> supply(Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = EXECUTOR.submit(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(work.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    // Run a JavaFX Task (or any other runnable) on the database executor
+    public static void execute(Runnable task) {
+        EXECUTOR.execute(task);
+    }
+
+    // Stop accepting work and let running tasks finish (call once on application exit)
+    public static void shutdown() {
+        EXECUTOR.shutdown();
+        try {
+            if (!EXECUTOR.awaitTermination(5, TimeUnit.SECONDS)) {
+                EXECUTOR.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            EXECUTOR.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // The original exception behind a failed future
+    public static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    // === Reads ===
+
+    public CompletableFuture<List<InventoryItem>> getAllItems() {
+        return supply(inventoryDAO::getAllItems);
+    }
+
+    public CompletableFuture<List<InventoryItem>> searchItems(String term) {
+        return supply(() -> inventoryDAO.searchItems(term));
+    }
+
+    public CompletableFuture<List<ItemListRow>> searchItemRows(String term) {
+        return supply(() -> inventoryDAO.searchItemRows(term));
+    }
+
+    public CompletableFuture<List<ItemListRow>> getPage(InventoryPager pager, int pageIndex) {
+        return supply(() -> pager.getPage(pageIndex));
+    }
+
+    // Forget cached page boundaries and count the pages again
+    public CompletableFuture<Integer> refreshPageCount(InventoryPager pager) {
+        return supply(() -> {
+            pager.reset();
+            return pager.getPageCount();
+        });
+    }
+
+    public CompletableFuture<InventoryService.ServiceResult<InventoryStats>> getInventoryStats() {
+        return supply(inventoryService::getInventoryStats);
+    }
+
+    // === Writes go through the shared group-commit writer (a DuplicateNameException fails the future) ===
+
+    // Completes with the new item's id; set it on the item in the FX-thread callback
+    public CompletableFuture<Integer> addItem(InventoryItem item) {
+        return InventoryWriter.getInstance().addItem(item);
+    }
+
+    public CompletableFuture<Boolean> updateItem(InventoryItem item) {
+        return InventoryWriter.getInstance().updateItem(item);
+    }
+
+    // Save edited details and apply the stock change as a delta, so concurrent adjustments are kept
+    public CompletableFuture<Boolean> updateItem(InventoryItem item, int quantityDelta) {
+        return InventoryWriter.getInstance().updateItem(item, quantityDelta);
+    }
+
+    public CompletableFuture<Boolean> deleteItem(int id) {
+        return InventoryWriter.getInstance().deleteItem(id);
+    }
+
+    // Completes with the new quantity, or null if the item is missing or the stock would go negative
+    public CompletableFuture<Integer> adjustQuantity(int id, int delta) {
+        return InventoryWriter.getInstance().adjustQuantity(id, delta);
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "inventory-db-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Holds the latest request for one piece of UI (a table, a search box).
+     * Submitting a new request cancels the previous one, and callbacks run on
+     * the FX thread only if their request is still the latest, so a slow
+     * search can never overwrite the results of a newer one. Use it from the FX thread only.
+     */
+    public static class RequestSlot<T> {
+        private CompletableFuture<T> current;
+
+        public void submit(CompletableFuture<T> request, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+            cancel();
+            current = request;
+            request.whenCompleteAsync((value, error) -> {
+                if (current != request || request.isCancelled()) {
+                    return;
+                }
+                current = null;
+                if (error == null) {
+                    onSuccess.accept(value);
+                } else {
+                    onFailure.accept(unwrap(error));
+                }
+            }, FX_THREAD);
+        }
+
+        public void cancel() {
+            if (current != null) {
+                current.cancel(false);
+                current = null;
+            }
+        }
+
+        public boolean isBusy() {
+            return current != null;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.inventoryapp.service;
+
+import com.inventoryapp.util.DBUtils;
+import com.inventoryapp.util.DatabaseConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.core.DB;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Online backups of the inventory database.
+ * Uses SQLite's backup API on a dedicated connection, copying a bounded number
+ * of pages per step and pausing between steps, so the app keeps reading and
+ * writing while a backup runs (under WAL, writers are never blocked). A write
+ * from another connection restarts the copy, so after a few restarts the
+ * pauses are dropped to let it finish. The copy is written to a .part file
+ * and renamed when complete, and only the newest backups are kept.
+ */
+public class BackupService {
+
+    private static final String PREFIX = "inventory-";
+    private static final String SUFFIX = ".db";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    // After this many restarts the copy runs without pauses so steady writes cannot starve it
+    private static final int PACED_RESTARTS = 3;
+
+    private final Path directory;
+    private final int retain;
+    private final int pagesPerStep;
+    private final long pauseMillis;
+    private ScheduledExecutorService scheduler;
+
+    public BackupService() {
+        this(Paths.get(DatabaseConfig.getString("db.backup.dir", "backups")),
+                DatabaseConfig.getInt("db.backup.retain", 7),
+                DatabaseConfig.getInt("db.backup.pagesPerStep", 256),
+                DatabaseConfig.getLong("db.backup.pauseMillis", 10));
+    }
+
+    public BackupService(Path directory, int retain, int pagesPerStep, long pauseMillis) {
+        this.directory = directory;
+        this.retain = Math.max(1, retain);
+        this.pagesPerStep = Math.max(1, pagesPerStep);
+        this.pauseMillis = Math.max(0, pauseMillis);
+    }
+
+    // Back up shortly after startup and then every intervalMinutes (0 disables scheduled backups)
+    public synchronized void start(long intervalMinutes) {
+        if (scheduler != null || intervalMinutes <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-backup");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, 5, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // Copy the live database to a new backup file, then prune old backups
+    public BackupResult backupNow() throws SQLException, IOException {
+        Files.createDirectories(directory);
+        Path target;
+        do {
+            target = directory.resolve(PREFIX + LocalDateTime.now().format(FILE_TIME) + SUFFIX);
+        } while (Files.exists(target));
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+
+        long start = System.nanoTime();
+        StepObserver observer = new StepObserver();
+        try (Connection conn = DBUtils.openDedicatedConnection()) {
+            DB db = conn.unwrap(SQLiteConnection.class).getDatabase();
+            // Busy steps are retried every pauseMillis, up to 100 times
+            int rc = db.backup("main", partial.toString(), observer, (int) Math.max(1, pauseMillis), 100, pagesPerStep);
+            if (rc != 0) {
+                throw new SQLException("Backup stopped with SQLite result code " + rc);
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int pruned = prune();
+        return new BackupResult(target, observer.pageCount, observer.steps, observer.restarts,
+                durationMillis, Files.size(target), pruned);
+    }
+
+    // Backup files in this service's directory, newest first
+    public List<Path> listBackups() throws IOException {
+        List<Path> backups = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return backups;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            files.forEach(backups::add);
+        }
+        // The timestamped names sort chronologically
+        backups.sort(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed());
+        return backups;
+    }
+
+    // Delete all but the newest retained backups; returns how many were deleted
+    private int prune() throws IOException {
+        List<Path> backups = listBackups();
+        int deleted = 0;
+        for (Path old : backups.subList(Math.min(retain, backups.size()), backups.size())) {
+            if (Files.deleteIfExists(old)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private void runSafely() {
+        try {
+            System.out.println("Database backup: " + backupNow());
+        } catch (SQLException | IOException e) {
+            System.err.println("Database backup failed: " + e.getMessage());
+        }
+    }
+
+    // Called by SQLite after every step; the pause between steps lets other connections take their turn
+    private class StepObserver implements DB.ProgressObserver {
+        private int pageCount;
+        private int lastRemaining = Integer.MAX_VALUE;
+        private int steps;
+        private int restarts;
+
+        @Override
+        public void progress(int remaining, int pageCount) {
+            this.pageCount = pageCount;
+            steps++;
+            // A write from another connection makes SQLite start the copy over
+            if (remaining > lastRemaining) {
+                restarts++;
+            }
+            lastRemaining = remaining;
+            if (remaining > 0 && pauseMillis > 0 && restarts < PACED_RESTARTS
+                    && !Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    // Finish the copy without pauses; the interrupt is kept for the caller
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Outcome of one backup.
+     */
+    public static class BackupResult {
+        private final Path file;
+        private final int pages;
+        private final int steps;
+        private final int restarts;
+        private final long durationMillis;
+        private final long bytes;
+        private final int pruned;
+
+        private BackupResult(Path file, int pages, int steps, int restarts, long durationMillis, long bytes, int pruned) {
+            this.file = file;
+            this.pages = pages;
+            this.steps = steps;
+            this.restarts = restarts;
+            this.durationMillis = durationMillis;
+            this.bytes = bytes;
+            this.pruned = pruned;
+        }
+
+        public Path getFile() { return file; }
+        public int getPages() { return pages; }
+        public int getSteps() { return steps; }
+        public int getRestarts() { return restarts; }
+        public long getDurationMillis() { return durationMillis; }
+        public long getBytes() { return bytes; }
+        public int getPruned() { return pruned; }
+
+        @Override
+        public String toString() {
+            return "BackupResult{" +
+                    "file=" + file +
+                    ", pages=" + pages +
+                    ", steps=" + steps +
+                    ", restarts=" + restarts +
+                    ", durationMillis=" + durationMillis +
+                    ", bytes=" + bytes +
+                    ", pruned=" + pruned +
+                    '}';
+        }
+    }
+}
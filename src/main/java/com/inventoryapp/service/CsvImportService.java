@@ -0,0 +1,508 @@
+package com.inventoryapp.service;
+
+import com.inventoryapp.dao.BatchResult;
+import com.inventoryapp.dao.InventoryDAO;
+import com.inventoryapp.model.InventoryItem;
+import com.inventoryapp.util.CSVExporter;
+import com.inventoryapp.util.CsvReader;
+import com.inventoryapp.util.DBUtils;
+import com.inventoryapp.util.DatabaseConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bulk import of inventory items from CSV files.
+ * The file is processed as a three-stage pipeline joined by bounded queues:
+ * a reader thread splits the file into chunks of records, parser threads turn
+ * them into items and apply the InventoryService rules in parallel, and the
+ * calling thread inserts accepted items in large batched transactions. Memory
+ * use stays flat however large the file is. Rejected rows (bad values, rule
+ * violations, names that already exist) are written to a rejects file with
+ * their line number and reason.
+ *
+ * Expected header (any order, case-insensitive): name, category, quantity,
+ * price and optionally description and supplier.
+ */
+public class CsvImportService {
+
+    private static final String[] REQUIRED_COLUMNS = {"name", "category", "quantity", "price"};
+    private static final String[] OPTIONAL_COLUMNS = {"description", "supplier"};
+
+    private final InventoryService inventoryService;
+    private final InventoryDAO inventoryDAO;
+    private final int parseThreads;
+    private final int chunkRows;
+    private final int queueChunks;
+    private final int transactionRows;
+
+    public CsvImportService() {
+        this(new InventoryDAO(),
+                DatabaseConfig.getInt("db.import.parseThreads", Math.max(1, Runtime.getRuntime().availableProcessors() - 1)),
+                DatabaseConfig.getInt("db.import.chunkRows", 1000),
+                DatabaseConfig.getInt("db.import.queueChunks", 8),
+                DatabaseConfig.getInt("db.import.transactionRows", 5000));
+    }
+
+    public CsvImportService(InventoryDAO inventoryDAO, int parseThreads, int chunkRows, int queueChunks,
+                            int transactionRows) {
+        this.inventoryDAO = inventoryDAO;
+        this.inventoryService = new InventoryService(inventoryDAO);
+        this.parseThreads = Math.max(1, parseThreads);
+        this.chunkRows = Math.max(1, chunkRows);
+        this.queueChunks = Math.max(1, queueChunks);
+        this.transactionRows = Math.max(1, transactionRows);
+    }
+
+    /*
+     * Import every row of source. Blocks until the file is done, so call it off the FX thread;
+     * interrupting the calling thread stops the import after the current transaction (rows
+     * already committed stay). rejectsFile may be null; progress, if given, is called on the
+     * calling thread after each transaction.
+     * Throws IOException only if nothing could be imported (unreadable file, bad header). A failure
+     * part way through is returned in the result with the counts so far: if the file turns out to
+     * be malformed, every row before the bad record is still imported; if the rejects file cannot
+     * be written, the import stops and the rows not yet committed are left out.
+     */
+    public ImportResult importFile(Path source, Path rejectsFile, Consumer<ImportProgress> progress) throws IOException {
+        long start = System.nanoTime();
+        // The reader thread closes csv when it reaches the end; closing it again here is harmless
+        try (CsvReader csv = new CsvReader(Files.newBufferedReader(source, StandardCharsets.UTF_8));
+             BufferedWriter rejects = rejectsFile != null
+                     ? Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8) : null) {
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new IOException("The file is empty.");
+            }
+            Map<String, Integer> columns = mapColumns(header);
+            if (rejects != null) {
+                List<String> rejectsHeader = new ArrayList<>(List.of("line", "reason"));
+                rejectsHeader.addAll(header);
+                CSVExporter.writeRecord(rejects, rejectsHeader);
+            }
+            return new Pipeline(csv, columns).run(rejects, rejectsFile, progress, start);
+        }
+    }
+
+    // Column index by name; fails if a required column is missing
+    private Map<String, Integer> mapColumns(List<String> header) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IOException("Missing column: " + required);
+            }
+        }
+        List<String> known = new ArrayList<>(List.of(REQUIRED_COLUMNS));
+        known.addAll(List.of(OPTIONAL_COLUMNS));
+        columns.keySet().retainAll(known);
+        return columns;
+    }
+
+    // One import run: the reader thread, the parser pool and the insert loop on the calling thread
+    private class Pipeline {
+        private final CsvReader csv;
+        private final Map<String, Integer> columns;
+        private final BlockingQueue<List<Record>> rawChunks = new ArrayBlockingQueue<>(queueChunks);
+        private final BlockingQueue<ParsedChunk> parsedChunks = new ArrayBlockingQueue<>(queueChunks);
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicInteger runningParsers = new AtomicInteger(parseThreads);
+        private volatile boolean stopped;
+        private volatile boolean cancelled;
+        private volatile Exception failure;
+
+        private Pipeline(CsvReader csv, Map<String, Integer> columns) {
+            this.csv = csv;
+            this.columns = columns;
+        }
+
+        private ImportResult run(BufferedWriter rejects, Path rejectsFile, Consumer<ImportProgress> progress,
+                                 long start) throws IOException {
+            Thread reader = new Thread(this::readRecords, "csv-import-reader");
+            reader.setDaemon(true);
+            AtomicInteger parserCount = new AtomicInteger();
+            ExecutorService parsers = Executors.newFixedThreadPool(parseThreads, runnable -> {
+                Thread thread = new Thread(runnable, "csv-import-parse-" + parserCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            reader.start();
+            for (int i = 0; i < parseThreads; i++) {
+                parsers.execute(this::parseRecords);
+            }
+
+            long imported = 0;
+            long rejected = 0;
+            long insertNanos = 0;
+            List<Record> pending = new ArrayList<>(transactionRows);
+            try {
+                ParsedChunk chunk;
+                while ((chunk = nextParsed()) != ParsedChunk.END) {
+                    if (stopped) {
+                        // Keep draining so the other stages can finish
+                        continue;
+                    }
+                    for (Record reject : chunk.rejected) {
+                        writeReject(rejects, reject);
+                    }
+                    rejected += chunk.rejected.size();
+                    pending.addAll(chunk.accepted);
+
+                    if (pending.size() >= transactionRows) {
+                        long insertStart = System.nanoTime();
+                        int inserted = insert(pending, rejects);
+                        insertNanos += System.nanoTime() - insertStart;
+                        imported += inserted;
+                        rejected += pending.size() - inserted;
+                        pending.clear();
+                        if (progress != null) {
+                            progress.accept(new ImportProgress(rowsRead.get(), imported, rejected,
+                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                        }
+                        if (Thread.interrupted()) {
+                            cancelled = true;
+                            stopped = true;
+                        }
+                    }
+                }
+                if (!stopped && !pending.isEmpty()) {
+                    long insertStart = System.nanoTime();
+                    int inserted = insert(pending, rejects);
+                    insertNanos += System.nanoTime() - insertStart;
+                    imported += inserted;
+                    rejected += pending.size() - inserted;
+                }
+            } catch (IOException e) {
+                // Rejects file not writable: stop reading and parsing
+                stopped = true;
+                failure = e;
+                drain();
+            } catch (RuntimeException e) {
+                stopped = true;
+                failure = e;
+                drain();
+            } finally {
+                parsers.shutdownNow();
+            }
+
+            if (cancelled) {
+                // Leave the interrupt for the caller
+                Thread.currentThread().interrupt();
+            }
+            return new ImportResult(rowsRead.get(), imported, rejected, cancelled, failure,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    TimeUnit.NANOSECONDS.toMillis(insertNanos), rejectsFile);
+        }
+
+        // Reader stage: split the file into chunks of records
+        private void readRecords() {
+            List<Record> chunk = new ArrayList<>(chunkRows);
+            try (CsvReader in = csv) {
+                List<String> fields;
+                while (!stopped && (fields = in.next()) != null) {
+                    // Skip blank lines
+                    if (fields.size() == 1 && fields.get(0).isBlank()) {
+                        continue;
+                    }
+                    chunk.add(new Record(in.getRecordLine(), fields));
+                    rowsRead.incrementAndGet();
+                    if (chunk.size() == chunkRows) {
+                        rawChunks.put(chunk);
+                        chunk = new ArrayList<>(chunkRows);
+                    }
+                }
+                if (!chunk.isEmpty() && !stopped) {
+                    rawChunks.put(chunk);
+                }
+            } catch (IOException e) {
+                // Malformed file: the records read so far still go through the other stages
+                failure = e;
+                if (!chunk.isEmpty() && !stopped) {
+                    putQuietly(rawChunks, chunk);
+                }
+            } catch (InterruptedException e) {
+                stopped = true;
+            } finally {
+                // One end marker per parser
+                for (int i = 0; i < parseThreads; i++) {
+                    putQuietly(rawChunks, Collections.emptyList());
+                }
+            }
+        }
+
+        // Parser stage: build and validate items; the last parser to finish ends the stream
+        private void parseRecords() {
+            try {
+                List<Record> chunk;
+                while (!(chunk = rawChunks.take()).isEmpty()) {
+                    if (stopped) {
+                        continue;
+                    }
+                    ParsedChunk parsed = new ParsedChunk();
+                    for (Record record : chunk) {
+                        String reason = parse(record);
+                        if (reason == null) {
+                            parsed.accepted.add(record);
+                        } else {
+                            record.reason = reason;
+                            parsed.rejected.add(record);
+                        }
+                    }
+                    parsedChunks.put(parsed);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                failure = e;
+                stopped = true;
+            } finally {
+                if (runningParsers.decrementAndGet() == 0) {
+                    putQuietly(parsedChunks, ParsedChunk.END);
+                }
+            }
+        }
+
+        // Fill record.item, returning the rejection reason or null
+        private String parse(Record record) {
+            InventoryItem item = new InventoryItem();
+            item.setName(field(record, "name"));
+            item.setCategory(field(record, "category"));
+            item.setDescription(field(record, "description"));
+            item.setSupplier(field(record, "supplier"));
+
+            String quantity = field(record, "quantity");
+            try {
+                item.setQuantity(Integer.parseInt(quantity == null ? "" : quantity.trim()));
+            } catch (NumberFormatException e) {
+                return "Invalid quantity: '" + quantity + "'";
+            }
+            String price = field(record, "price");
+            try {
+                item.setPrice(Double.parseDouble(price == null ? "" : price.trim()));
+            } catch (NumberFormatException e) {
+                return "Invalid price: '" + price + "'";
+            }
+            if (Double.isNaN(item.getPrice()) || Double.isInfinite(item.getPrice())) {
+                return "Invalid price: '" + price + "'";
+            }
+
+            String reason = inventoryService.prepareForImport(item);
+            if (reason == null) {
+                record.item = item;
+            }
+            return reason;
+        }
+
+        private String field(Record record, String column) {
+            Integer index = columns.get(column);
+            return index != null && index < record.fields.size() ? record.fields.get(index) : null;
+        }
+
+        // Insert stage: one transaction; rows the database refuses are rejected. Returns rows inserted.
+        private int insert(List<Record> records, BufferedWriter rejects) throws IOException {
+            // Catch duplicate names up front: a row that fails inside the batch makes the DAO
+            // replay its chunk row by row, and every savepoint flushes the full-text index
+            Set<String> names = new HashSet<>();
+            for (Record record : records) {
+                names.add(DBUtils.foldNoCase(record.item.getName()));
+            }
+            Set<String> existing = inventoryDAO.findExistingNames(names);
+            names.clear();
+
+            List<Record> accepted = new ArrayList<>(records.size());
+            for (Record record : records) {
+                String name = DBUtils.foldNoCase(record.item.getName());
+                if (existing.contains(name)) {
+                    record.reason = "An item with this name already exists.";
+                    writeReject(rejects, record);
+                } else if (!names.add(name)) {
+                    record.reason = "Duplicate name within the file.";
+                    writeReject(rejects, record);
+                } else {
+                    accepted.add(record);
+                }
+            }
+
+            List<InventoryItem> items = new ArrayList<>(accepted.size());
+            for (Record record : accepted) {
+                items.add(record.item);
+            }
+            BatchResult result = inventoryDAO.addItems(items);
+            for (Map.Entry<Integer, String> entry : result.getFailures().entrySet()) {
+                Record record = accepted.get(entry.getKey());
+                record.reason = entry.getValue();
+                writeReject(rejects, record);
+            }
+            return result.getSuccessCount();
+        }
+
+        private void writeReject(BufferedWriter rejects, Record record) throws IOException {
+            if (rejects == null) {
+                return;
+            }
+            List<String> row = new ArrayList<>(record.fields.size() + 2);
+            row.add(Long.toString(record.line));
+            row.add(record.reason);
+            row.addAll(record.fields);
+            CSVExporter.writeRecord(rejects, row);
+        }
+
+        private ParsedChunk nextParsed() {
+            while (true) {
+                try {
+                    return parsedChunks.take();
+                } catch (InterruptedException e) {
+                    // Cancel: stop the other stages, but keep draining until they are done
+                    cancelled = true;
+                    stopped = true;
+                }
+            }
+        }
+
+        private void drain() {
+            while (nextParsed() != ParsedChunk.END) {
+                // Discard
+            }
+        }
+
+        private <T> void putQuietly(BlockingQueue<T> queue, T value) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    queue.put(value);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class Record {
+        private final long line;
+        private final List<String> fields;
+        private InventoryItem item;
+        private String reason;
+
+        private Record(long line, List<String> fields) {
+            this.line = line;
+            this.fields = fields;
+        }
+    }
+
+    private static class ParsedChunk {
+        private static final ParsedChunk END = new ParsedChunk();
+
+        private final List<Record> accepted = new ArrayList<>();
+        private final List<Record> rejected = new ArrayList<>();
+    }
+
+    /**
+     * Running totals, reported after each committed transaction.
+     */
+    public static class ImportProgress {
+        private final long rowsRead;
+        private final long imported;
+        private final long rejected;
+        private final long elapsedMillis;
+
+        private ImportProgress(long rowsRead, long imported, long rejected, long elapsedMillis) {
+            this.rowsRead = rowsRead;
+            this.imported = imported;
+            this.rejected = rejected;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long getRowsRead() { return rowsRead; }
+        public long getImported() { return imported; }
+        public long getRejected() { return rejected; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public double getRowsPerSecond() {
+            return elapsedMillis == 0 ? 0 : (imported + rejected) * 1000.0 / elapsedMillis;
+        }
+    }
+
+    /**
+     * Outcome of an import.
+     */
+    public static class ImportResult {
+        private final long rowsRead;
+        private final long imported;
+        private final long rejected;
+        private final boolean cancelled;
+        private final Exception failure;
+        private final long durationMillis;
+        private final long insertMillis;
+        private final Path rejectsFile;
+
+        private ImportResult(long rowsRead, long imported, long rejected, boolean cancelled, Exception failure,
+                             long durationMillis, long insertMillis, Path rejectsFile) {
+            this.rowsRead = rowsRead;
+            this.imported = imported;
+            this.rejected = rejected;
+            this.cancelled = cancelled;
+            this.failure = failure;
+            this.durationMillis = durationMillis;
+            this.insertMillis = insertMillis;
+            this.rejectsFile = rejectsFile;
+        }
+
+        public long getRowsRead() { return rowsRead; }
+        public long getImported() { return imported; }
+        public long getRejected() { return rejected; }
+        public boolean isCancelled() { return cancelled; }
+        // Why the import ended early, or null; rows imported before it stay committed
+        public Exception getFailure() { return failure; }
+        public boolean isComplete() { return !cancelled && failure == null; }
+        // Rows read that were neither imported nor rejected (dropped when the import ended early)
+        public long getUnprocessed() { return Math.max(0, rowsRead - imported - rejected); }
+        public long getDurationMillis() { return durationMillis; }
+        // Time spent in insert transactions; the rest overlapped with reading and parsing
+        public long getInsertMillis() { return insertMillis; }
+        public Path getRejectsFile() { return rejectsFile; }
+
+        public double getRowsPerSecond() {
+            return durationMillis == 0 ? 0 : (imported + rejected) * 1000.0 / durationMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "ImportResult{" +
+                    "rowsRead=" + rowsRead +
+                    ", imported=" + imported +
+                    ", rejected=" + rejected +
+                    ", cancelled=" + cancelled +
+                    (failure != null ? ", failure='" + failure.getMessage() + '\'' : "") +
+                    ", unprocessed=" + getUnprocessed() +
+                    ", durationMillis=" + durationMillis +
+                    ", insertMillis=" + insertMillis +
+                    ", rowsPerSecond=" + String.format("%.0f", getRowsPerSecond()) +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.inventoryapp.service;
+
+import com.inventoryapp.dao.InventoryDAO;
+import com.inventoryapp.dao.InventoryDAO.PageKey;
+import com.inventoryapp.model.ItemListRow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset pagination over inventory list rows ordered by (name, id).
+ * Only the requested page is loaded. The last key of every page seen so far is
+ * remembered, so next/previous is a single index seek and jumping ahead skips
+ * whole pages by reading keys only. Methods are synchronized so pages can be
+ * loaded from background threads.
+ */
+public class InventoryPager {
+
+    private final InventoryDAO inventoryDAO;
+    private final List<PageKey> pageEnds = new ArrayList<>();
+    private int pageSize;
+    private int totalItems = -1;
+
+    public InventoryPager(InventoryDAO inventoryDAO, int pageSize) {
+        this.inventoryDAO = inventoryDAO;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    public synchronized int getPageSize() {
+        return pageSize;
+    }
+
+    // Changing the page size invalidates every remembered page boundary
+    public synchronized void setPageSize(int pageSize) {
+        this.pageSize = Math.max(1, pageSize);
+        reset();
+    }
+
+    // Forget page boundaries and the cached count, e.g. after items were added or removed
+    public synchronized void reset() {
+        pageEnds.clear();
+        totalItems = -1;
+    }
+
+    public synchronized int getTotalItems() {
+        if (totalItems < 0) {
+            totalItems = inventoryDAO.countItems();
+        }
+        return totalItems;
+    }
+
+    // Number of pages, never less than 1 so an empty table still shows one page
+    public synchronized int getPageCount() {
+        return Math.max(1, (getTotalItems() + pageSize - 1) / pageSize);
+    }
+
+    public synchronized List<ItemListRow> getPage(int pageIndex) {
+        if (pageIndex < 0) {
+            return new ArrayList<>();
+        }
+
+        PageKey start = null;
+        if (pageIndex > 0) {
+            start = findPageEnd(pageIndex - 1);
+            if (start == null) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<ItemListRow> items = inventoryDAO.getItemsPage(start, pageSize);
+        if (!items.isEmpty() && pageEnds.size() == pageIndex) {
+            pageEnds.add(PageKey.of(items.get(items.size() - 1)));
+        }
+        return items;
+    }
+
+    // Last key of the given page, walking forward from the furthest known page if needed
+    private PageKey findPageEnd(int pageIndex) {
+        while (pageEnds.size() <= pageIndex) {
+            PageKey previous = pageEnds.isEmpty() ? null : pageEnds.get(pageEnds.size() - 1);
+            PageKey end = inventoryDAO.findKeyAfter(previous, pageSize - 1);
+            if (end == null) {
+                return null;
+            }
+            pageEnds.add(end);
+        }
+        return pageEnds.get(pageIndex);
+    }
+}
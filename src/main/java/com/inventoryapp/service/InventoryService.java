@@ -1,13 +1,29 @@
 package com.inventoryapp.service;
 
+import com.inventoryapp.dao.BatchResult;
+import com.inventoryapp.dao.DuplicateNameException;
 import com.inventoryapp.dao.InventoryDAO;
+import com.inventoryapp.dao.InventoryMirror;
+import com.inventoryapp.dao.ItemQuery;
+import com.inventoryapp.dao.QueryCanceller;
+import com.inventoryapp.dao.StockLedgerDAO;
 import com.inventoryapp.model.InventoryItem;
+import com.inventoryapp.model.InventoryStats;
+import com.inventoryapp.model.ItemReportRow;
+import com.inventoryapp.model.StockMovement;
+import com.inventoryapp.model.StockMovementSummary;
+import com.inventoryapp.util.DBUtils;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Inventory Management
@@ -16,7 +32,11 @@ import java.util.stream.Collectors;
  */
 public class InventoryService {
 
+    // Items with fewer than this many units count as low stock in reports
+    private static final int LOW_STOCK_THRESHOLD = 5;
+
     private final InventoryDAO inventoryDAO;
+    private final StockLedgerDAO ledgerDAO = new StockLedgerDAO();
 
     public InventoryService() {
         this.inventoryDAO = new InventoryDAO();
@@ -26,52 +46,59 @@ public class InventoryService {
         this.inventoryDAO = inventoryDAO;
     }
 
-   public List<Map<String, Object>> getStockData(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock) {
-    List<InventoryItem> items = inventoryDAO.getAllItems();
-
-    // Filter by category
-    if (!"All".equalsIgnoreCase(category)) {
-        items = items.stream()
-                .filter(item -> category.equalsIgnoreCase(item.getCategory()))
-                .collect(Collectors.toList());
+    // Report rows matching the filters, in name order; the caller must close the stream
+    public Stream<ItemReportRow> streamReportRows(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock) {
+        return streamReportRows(type, startDate, endDate, category, includeOutOfStock, null);
     }
 
-    // Filter out of stock
-    if (!includeOutOfStock) {
-        items = items.stream()
-                .filter(item -> item.getQuantity() > 0)
-                .collect(Collectors.toList());
+    // As above; the canceller can stop the SQL query from another thread
+    public Stream<ItemReportRow> streamReportRows(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock,
+                                                  QueryCanceller canceller) {
+        ItemQuery query = buildStockQuery(type, startDate, endDate, category, includeOutOfStock);
+
+        // Served from the in-memory mirror when it is running; only the report columns are read
+        InventoryMirror mirror = InventoryMirror.getIfReady();
+        return mirror != null ? mirror.streamReportRows(query) : inventoryDAO.streamReportRows(query, canceller);
     }
 
-    // Filter low stock
-    if ("Low Stock".equalsIgnoreCase(type)) {
-        items = items.stream()
-                .filter(item -> item.getQuantity() < 5)
-                .collect(Collectors.toList());
+    // Number of rows streamReportRows would return for the same filters
+    public int countStockData(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock) {
+        return countStockData(type, startDate, endDate, category, includeOutOfStock, null);
     }
 
-    // Filter by date range
-    if ("Custom Date Range".equalsIgnoreCase(type) && startDate != null && endDate != null) {
-        items = items.stream()
-                .filter(item -> item.getAddedDate() != null &&
-                        !item.getAddedDate().isBefore(startDate) &&
-                        !item.getAddedDate().isAfter(endDate))
-                .collect(Collectors.toList());
+    public int countStockData(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock,
+                              QueryCanceller canceller) {
+        ItemQuery query = buildStockQuery(type, startDate, endDate, category, includeOutOfStock);
+        InventoryMirror mirror = InventoryMirror.getIfReady();
+        return mirror != null ? mirror.countItems(query) : inventoryDAO.countItems(query, canceller);
     }
 
-    // Convert to Map format
-    return items.stream()
-        .map(item -> {
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", item.getId());
-            map.put("name", item.getName());
-            map.put("quantity", item.getQuantity());
-            map.put("price", item.getPrice());
-            map.put("addedDate", item.getAddedDate()); // can be null
-            return map;
-        })
-        .collect(Collectors.toList());
-}
+    // Translate the report filters into a query so SQLite does the filtering
+    private ItemQuery buildStockQuery(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock) {
+        ItemQuery query = ItemQuery.all();
+
+        // Filter by category
+        if (category != null && !"All".equalsIgnoreCase(category)) {
+            query.category(category);
+        }
+
+        // Filter out of stock
+        if (!includeOutOfStock) {
+            query.minQuantity(1);
+        }
+
+        // Filter low stock
+        if ("Low Stock".equalsIgnoreCase(type)) {
+            query.maxQuantity(LOW_STOCK_THRESHOLD - 1);
+        }
+
+        // Filter by date range (items added between the two dates, inclusive)
+        if ("Custom Date Range".equalsIgnoreCase(type) && startDate != null && endDate != null) {
+            query.createdBetween(startDate, endDate);
+        }
+
+        return query;
+    }
 
 
 
@@ -96,6 +123,9 @@ public class InventoryService {
             } else {
                 return ServiceResult.failure("Failed to add item to database.");
             }
+        } catch (DuplicateNameException e) {
+            // Another writer inserted the same name after our check
+            return ServiceResult.failure("An item with this name already exists.");
         } catch (Exception e) {
             return ServiceResult.failure("Database error: " + e.getMessage());
         }
@@ -124,6 +154,8 @@ public class InventoryService {
             } else {
                 return ServiceResult.failure("Failed to update item in database.");
             }
+        } catch (DuplicateNameException e) {
+            return ServiceResult.failure("Another item with this name already exists.");
         } catch (Exception e) {
             return ServiceResult.failure("Database error: " + e.getMessage());
         }
@@ -179,7 +211,7 @@ public class InventoryService {
         }
 
         try {
-            List<InventoryItem> items = inventoryDAO.searchItemsByName(searchTerm.trim());
+            List<InventoryItem> items = inventoryDAO.searchItems(searchTerm.trim());
             return ServiceResult.success(items, "Found " + items.size() + " matching items.");
         } catch (Exception e) {
             return ServiceResult.failure("Database error: " + e.getMessage());
@@ -188,10 +220,10 @@ public class InventoryService {
 
     public ServiceResult<List<InventoryItem>> getLowStockItems(int threshold) {
         try {
-            List<InventoryItem> allItems = inventoryDAO.getAllItems();
-            List<InventoryItem> lowStockItems = allItems.stream()
-                    .filter(item -> item.getQuantity() <= threshold)
-                    .collect(Collectors.toList());
+            List<InventoryItem> lowStockItems;
+            try (Stream<InventoryItem> items = inventoryDAO.streamItems(ItemQuery.all().maxQuantity(threshold))) {
+                lowStockItems = items.collect(Collectors.toList());
+            }
 
             return ServiceResult.success(lowStockItems, "Found " + lowStockItems.size() + " items with low stock.");
         } catch (Exception e) {
@@ -201,10 +233,11 @@ public class InventoryService {
 
     public ServiceResult<List<InventoryItem>> getItemsByCategory(String category) {
         try {
-            List<InventoryItem> allItems = inventoryDAO.getAllItems();
-            List<InventoryItem> categoryItems = allItems.stream()
-                    .filter(item -> category.equals(item.getCategory()))
-                    .collect(Collectors.toList());
+            List<InventoryItem> categoryItems;
+            try (Stream<InventoryItem> items = inventoryDAO.streamAllItems()) {
+                categoryItems = items.filter(item -> category.equals(item.getCategory()))
+                        .collect(Collectors.toList());
+            }
 
             return ServiceResult.success(categoryItems, "Found " + categoryItems.size() + " items in category: " + category);
         } catch (Exception e) {
@@ -214,17 +247,194 @@ public class InventoryService {
 
     public ServiceResult<Double> calculateTotalValue() {
         try {
-            List<InventoryItem> items = inventoryDAO.getAllItems();
-            double totalValue = items.stream()
-                    .mapToDouble(item -> item.getQuantity() * item.getPrice())
-                    .sum();
-
+            double totalValue = calculateStats().getTotalValue();
             return ServiceResult.success(totalValue, "Total inventory value calculated.");
         } catch (Exception e) {
             return ServiceResult.failure("Database error: " + e.getMessage());
         }
     }
 
+    // Item counts, stock alerts and total value, overall and per category
+    public ServiceResult<InventoryStats> getInventoryStats() {
+        try {
+            InventoryStats stats = calculateStats();
+            return ServiceResult.success(stats, "Inventory statistics calculated.");
+        } catch (Exception e) {
+            return ServiceResult.failure("Database error: " + e.getMessage());
+        }
+    }
+
+    // Aggregates come from the in-memory mirror when it is running, otherwise from SQL
+    private InventoryStats calculateStats() {
+        InventoryMirror mirror = InventoryMirror.getIfReady();
+        return mirror != null ? mirror.getStats(LOW_STOCK_THRESHOLD) : inventoryDAO.getStats(LOW_STOCK_THRESHOLD);
+    }
+
+    // ================== STOCK ADJUSTMENTS ==================
+
+    // Add delta units (negative to remove) without reading the item first
+    public ServiceResult<Integer> adjustQuantity(int itemId, int delta) {
+        Integer quantity;
+        try {
+            quantity = inventoryDAO.adjustQuantity(itemId, delta);
+        } catch (SQLException e) {
+            System.err.println("Error adjusting quantity: " + e.getMessage());
+            return ServiceResult.failure("Failed to update stock. Please try again.");
+        }
+        if (quantity != null) {
+            return ServiceResult.success(quantity, "Stock updated. New quantity: " + quantity + ".");
+        }
+        // Only failures pay for the extra lookup that explains them
+        InventoryItem item = inventoryDAO.getItemById(itemId);
+        if (item == null) {
+            return ServiceResult.failure("Item not found.");
+        }
+        if (item.getQuantity() + delta < 0) {
+            return ServiceResult.failure("Not enough stock.");
+        }
+        // The guard refused a change that fits now, so the stock moved in between
+        return ServiceResult.failure("Stock changed while updating. Please try again.");
+    }
+
+    // Apply deltas by item id in one transaction; the result maps each adjusted item to its new quantity
+    // Skipped items (missing, or not enough stock) make a partial success; a database error changes nothing and fails
+    public ServiceResult<Map<Integer, Integer>> adjustQuantities(Map<Integer, Integer> deltas) {
+        Map<Integer, Integer> quantities;
+        try {
+            quantities = inventoryDAO.adjustQuantities(deltas);
+        } catch (SQLException e) {
+            System.err.println("Error adjusting quantities: " + e.getMessage());
+            return ServiceResult.failure("Failed to update stock. Please try again.");
+        }
+        int skipped = deltas.size() - quantities.size();
+        return ServiceResult.success(quantities, "Adjusted " + quantities.size() + " of " + deltas.size() + " items"
+                + (skipped > 0 ? "; " + skipped + " skipped (not found or not enough stock)." : "."));
+    }
+
+    // ================== STOCK HISTORY ==================
+
+    // Every recorded stock change of one item in [from, to)
+    public ServiceResult<List<StockMovement>> getStockMovements(int itemId, LocalDateTime from, LocalDateTime to) {
+        List<StockMovement> movements = ledgerDAO.getMovements(itemId, from, to);
+        return ServiceResult.success(movements, "Found " + movements.size() + " movements.");
+    }
+
+    // What moved in [from, to): units in and out per item
+    public ServiceResult<List<StockMovementSummary>> getMovementSummary(LocalDateTime from, LocalDateTime to) {
+        List<StockMovementSummary> summaries = ledgerDAO.summarizeMovements(from, to);
+        return ServiceResult.success(summaries, summaries.size() + " items had stock movements.");
+    }
+
+    public ServiceResult<Integer> getQuantityAt(int itemId, LocalDateTime at) {
+        Integer quantity = ledgerDAO.getQuantityAt(itemId, at);
+        if (quantity == null) {
+            return ServiceResult.failure("Failed to read stock history.");
+        }
+        if (quantity == StockLedgerDAO.HISTORY_COMPACTED) {
+            return ServiceResult.failure("Stock history for " + at + " has been compacted and is no longer available.");
+        }
+        return ServiceResult.success(quantity, "Quantity on " + at + ": " + quantity + ".");
+    }
+
+    // ================== BATCH METHODS ==================
+
+    // Validate and add many items in one transaction; invalid rows are reported, not fatal
+    public ServiceResult<BatchResult> addItems(List<InventoryItem> items) {
+        BatchResult result = new BatchResult(items.size());
+        Set<String> batchNames = new HashSet<>();
+        List<InventoryItem> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            InventoryItem item = items.get(i);
+            ValidationResult validation = validateItem(item);
+            if (!validation.isValid()) {
+                result.recordFailure(i, validation.getErrorMessage());
+            } else if (!batchNames.add(DBUtils.foldNoCase(item.getName().trim()))) {
+                // Clashes with existing items are rejected per row by the unique name index
+                result.recordFailure(i, "Duplicate name within the batch.");
+            } else {
+                applyBusinessRules(item);
+                accepted.add(item);
+                acceptedIndexes.add(i);
+            }
+        }
+
+        try {
+            mergeBatch(result, acceptedIndexes, inventoryDAO.addItems(accepted));
+            return ServiceResult.success(result, "Added " + result.getSuccessCount() + " of " + items.size() + " items.");
+        } catch (Exception e) {
+            return ServiceResult.failure("Database error: " + e.getMessage());
+        }
+    }
+
+    // Validate and update many items in one transaction; invalid rows are reported, not fatal
+    public ServiceResult<BatchResult> updateItems(List<InventoryItem> items) {
+        BatchResult result = new BatchResult(items.size());
+        Set<String> batchNames = new HashSet<>();
+        List<InventoryItem> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            InventoryItem item = items.get(i);
+            ValidationResult validation = validateItem(item);
+            if (!validation.isValid()) {
+                result.recordFailure(i, validation.getErrorMessage());
+                continue;
+            }
+            if (!batchNames.add(DBUtils.foldNoCase(item.getName().trim()))) {
+                result.recordFailure(i, "Duplicate name within the batch.");
+                continue;
+            }
+            applyBusinessRules(item);
+            accepted.add(item);
+            acceptedIndexes.add(i);
+        }
+
+        try {
+            mergeBatch(result, acceptedIndexes, inventoryDAO.updateItems(accepted));
+            return ServiceResult.success(result, "Updated " + result.getSuccessCount() + " of " + items.size() + " items.");
+        } catch (Exception e) {
+            return ServiceResult.failure("Database error: " + e.getMessage());
+        }
+    }
+
+    // Delete many items in one transaction; items that still have stock are rejected
+    public ServiceResult<BatchResult> deleteItems(int[] itemIds) {
+        BatchResult result = new BatchResult(itemIds.length);
+        List<Integer> acceptedIndexes = new ArrayList<>();
+
+        for (int i = 0; i < itemIds.length; i++) {
+            InventoryItem existingItem = inventoryDAO.getItemById(itemIds[i]);
+            if (existingItem == null) {
+                result.recordFailure(i, "Item not found.");
+            } else if (existingItem.getQuantity() > 0) {
+                result.recordFailure(i, "Cannot delete item with remaining quantity.");
+            } else {
+                acceptedIndexes.add(i);
+            }
+        }
+
+        int[] acceptedIds = acceptedIndexes.stream().mapToInt(i -> itemIds[i]).toArray();
+        try {
+            mergeBatch(result, acceptedIndexes, inventoryDAO.deleteItems(acceptedIds));
+            return ServiceResult.success(result, "Deleted " + result.getSuccessCount() + " of " + itemIds.length + " items.");
+        } catch (Exception e) {
+            return ServiceResult.failure("Database error: " + e.getMessage());
+        }
+    }
+
+    // Validate an item for a bulk import and apply the addItem business rules to it.
+    // Returns the rejection reason, or null if the item can be inserted. Safe to call from any thread.
+    public String prepareForImport(InventoryItem item) {
+        ValidationResult validation = validateItem(item);
+        if (!validation.isValid()) {
+            return validation.getErrorMessage();
+        }
+        applyBusinessRules(item);
+        return null;
+    }
+
     // Private helper methods
     private ValidationResult validateItem(InventoryItem item) {
         if (item == null) {
@@ -258,11 +468,20 @@ public class InventoryService {
         return ValidationResult.valid();
     }
 
+    // Copy DAO results for the accepted sub-list back to their original positions
+    private void mergeBatch(BatchResult result, List<Integer> acceptedIndexes, BatchResult daoResult) {
+        for (int i = 0; i < acceptedIndexes.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            if (daoResult.isSuccess(i)) {
+                result.recordSuccess(index, daoResult.getGeneratedId(i));
+            } else {
+                result.recordFailure(index, daoResult.getFailures().get(i));
+            }
+        }
+    }
+
     private boolean isNameExists(String name, int excludeId) {
-        List<InventoryItem> allItems = inventoryDAO.getAllItems();
-        return allItems.stream()
-                .anyMatch(item -> item.getName().equalsIgnoreCase(name.trim())
-                        && item.getId() != excludeId);
+        return inventoryDAO.existsByName(name.trim(), excludeId);
     }
 
     private void applyBusinessRules(InventoryItem item) {
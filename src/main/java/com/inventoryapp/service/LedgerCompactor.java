@@ -0,0 +1,82 @@
+package com.inventoryapp.service;
+
+import com.inventoryapp.dao.StockLedgerDAO;
+import com.inventoryapp.util.DatabaseConfig;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background compaction of the stock movement ledger.
+ * Movements older than the retention period are rolled into per-item
+ * snapshots and deleted, a bounded chunk per transaction so interactive
+ * writes are never locked out for long. Recent history stays in full detail.
+ */
+public class LedgerCompactor {
+
+    private final StockLedgerDAO ledgerDAO;
+    private final int retentionDays;
+    private final int chunkSize;
+    private ScheduledExecutorService scheduler;
+
+    public LedgerCompactor() {
+        this(new StockLedgerDAO(),
+                DatabaseConfig.getInt("db.ledger.retentionDays", 90),
+                DatabaseConfig.getInt("db.ledger.compactChunk", 5000));
+    }
+
+    public LedgerCompactor(StockLedgerDAO ledgerDAO, int retentionDays, int chunkSize) {
+        this.ledgerDAO = ledgerDAO;
+        this.retentionDays = Math.max(1, retentionDays);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    // Compact once shortly after startup and then every intervalMinutes
+    public synchronized void start(long intervalMinutes) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-compactor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, 1, Math.max(1, intervalMinutes), TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // Compact everything older than the retention period; returns the number of movements folded
+    public int compactNow() throws SQLException {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int compacted;
+        do {
+            compacted = ledgerDAO.compactBefore(cutoff, chunkSize);
+            total += compacted;
+        } while (compacted > 0 && !Thread.currentThread().isInterrupted());
+        return total;
+    }
+
+    private void runSafely() {
+        try {
+            long start = System.nanoTime();
+            int compacted = compactNow();
+            if (compacted > 0) {
+                System.out.println("Compacted " + compacted + " stock movements older than " + retentionDays
+                        + " days in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
+            }
+        } catch (SQLException e) {
+            System.err.println("Stock ledger compaction failed: " + e.getMessage());
+        }
+    }
+}
@@ -1,38 +1,118 @@
 package com.inventoryapp.service;
 
-// import com.inventoryapp.util.CsvExporter;
+import com.inventoryapp.dao.QueryCanceller;
+import com.inventoryapp.model.ItemReportRow;
+import com.inventoryapp.model.ReportCursor;
+import com.inventoryapp.model.ReportPreview;
+import com.inventoryapp.util.CSVExporter;
+import com.inventoryapp.util.DatabaseConfig;
+import com.inventoryapp.util.FixedWidthFormatter;
 import com.inventoryapp.util.PdfExporter;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 public class ReportExportService {
 
+    // Rows shown in a preview; the total count is always exact
+    private static final int PREVIEW_ROWS = DatabaseConfig.getInt("db.report.previewRows", 1000);
+    // Larger reports are spilled to a temp file instead of being held in memory
+    private static final int SNAPSHOT_MEMORY_ROWS = DatabaseConfig.getInt("db.report.snapshotMemoryRows", 50000);
+    private static final int PROGRESS_ROWS = 500;
+    private static final FixedWidthFormatter PREVIEW_FORMAT = new FixedWidthFormatter(5, 20, 10, 10);
+
     private final InventoryService dbService = new InventoryService();
 
-    public String generatePreview(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock) {
-        List<Map<String, Object>> data = dbService.getStockData(type, startDate, endDate, category, includeOutOfStock);
+    // Text preview of the first PREVIEW_ROWS rows
+    public String generatePreview(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock)
+            throws IOException {
+        try (ReportSnapshot snapshot = runReport(type, startDate, endDate, category, includeOutOfStock)) {
+            return formatPreview(getPreview(snapshot));
+        }
+    }
 
-        StringBuilder preview = new StringBuilder();
-        preview.append(String.format("%-5s %-20s %-10s %-10s\n", "ID", "Name", "Qty", "Price"));
-        preview.append("---------------------------------------------------\n");
+    // Read every row of the report once; the caller closes the snapshot
+    public ReportSnapshot runReport(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock)
+            throws IOException {
+        return runReport(type, startDate, endDate, category, includeOutOfStock, null, new QueryCanceller());
+    }
 
-        for (Map<String, Object> row : data) {
-            preview.append(String.format("%-5s %-20s %-10s %-10s\n",
-                    row.get("id"), row.get("name"), row.get("quantity"), row.get("price")));
+    // Same run, reporting (rows read, total rows) to progress every PROGRESS_ROWS rows.
+    // Cancelling stops the query that is running; whatever was read is dropped and null is returned.
+    public ReportSnapshot runReport(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock,
+                                    BiConsumer<Long, Long> progress, QueryCanceller canceller) throws IOException {
+        long total = progress != null
+                ? dbService.countStockData(type, startDate, endDate, category, includeOutOfStock, canceller) : 0;
+        if (canceller.isCancelled()) {
+            return null;
+        }
+        ReportSnapshot.Builder builder = new ReportSnapshot.Builder(type, startDate, endDate, category, includeOutOfStock,
+                PREVIEW_ROWS, SNAPSHOT_MEMORY_ROWS);
+        try (Stream<ItemReportRow> data = dbService.streamReportRows(type, startDate, endDate, category, includeOutOfStock, canceller)) {
+            Iterator<ItemReportRow> rows = data.iterator();
+            while (rows.hasNext()) {
+                if (canceller.isCancelled()) {
+                    builder.discard();
+                    return null;
+                }
+                builder.add(rows.next());
+                long read = builder.getRowCount();
+                if (read % PROGRESS_ROWS == 0 && progress != null) {
+                    // Rows added since the count can take read past total
+                    progress.accept(read, Math.max(read, total));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            builder.discard();
+            // An interrupted query fails the read; that is the cancel, not an error
+            if (canceller.isCancelled()) {
+                return null;
+            }
+            throw e;
         }
-        return preview.toString();
+
+        ReportSnapshot snapshot = builder.build();
+        if (canceller.isCancelled()) {
+            snapshot.close();
+            return null;
+        }
+        if (progress != null) {
+            progress.accept(snapshot.getRowCount(), snapshot.getRowCount());
+        }
+        return snapshot;
     }
 
-    // public void exportAsCsv(String filePath) throws IOException {
-    //     List<Map<String, Object>> data = dbService.getStockData("Full Inventory", null, null, "All", true);
-    //     CsvExporter.export(filePath, data);
-    // }
+    public ReportPreview getPreview(ReportSnapshot snapshot) {
+        return new ReportPreview(snapshot.getFirstRows(), snapshot.getRowCount());
+    }
 
-    public void exportAsPdf(String filePath) throws IOException {
-        List<Map<String, Object>> data = dbService.getStockData("Full Inventory", null, null, "All", true);
-        PdfExporter.export(filePath, data);
+    public String formatPreview(ReportPreview preview) {
+        StringBuilder text = new StringBuilder(64 * (preview.getRows().size() + 3));
+        PREVIEW_FORMAT.appendRow(text, "ID", "Name", "Qty", "Price");
+        PREVIEW_FORMAT.appendRule(text);
+        for (ItemReportRow row : preview.getRows()) {
+            PREVIEW_FORMAT.appendRow(text, row.getId(), row.getName(), row.getQuantity(), row.getPrice());
+        }
+        if (preview.getHiddenRows() > 0) {
+            text.append("... ").append(preview.getHiddenRows()).append(" more rows\n");
+        }
+        return text.toString();
+    }
+
+    // Write the snapshot's rows to a CSV file (gzip-compressed if requested); returns the row count
+    public long exportAsCsv(String filePath, boolean gzip, ReportSnapshot snapshot) throws IOException {
+        try (ReportCursor rows = snapshot.cursor()) {
+            return CSVExporter.export(filePath, rows, gzip);
+        }
+    }
+
+    // Write the snapshot's rows to a PDF file; returns the row count
+    public long exportAsPdf(String filePath, ReportSnapshot snapshot) throws IOException {
+        try (ReportCursor rows = snapshot.cursor()) {
+            return PdfExporter.export(filePath, rows);
+        }
     }
 }
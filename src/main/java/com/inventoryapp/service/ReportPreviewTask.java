@@ -0,0 +1,48 @@
+package com.inventoryapp.service;
+
+import com.inventoryapp.dao.QueryCanceller;
+import javafx.concurrent.Task;
+
+import java.time.LocalDate;
+
+/**
+ * Runs a report in the background and returns its snapshot, which the preview
+ * and the exports then share. Progress is rows read out of the rows matching
+ * the filters. Use stop() rather than cancel(): it interrupts the query that
+ * is running and call() drops whatever was already read and returns null, so
+ * the task only finishes once the worker has really let go of the database.
+ */
+public class ReportPreviewTask extends Task<ReportSnapshot> {
+
+    private final QueryCanceller canceller = new QueryCanceller();
+    private final ReportExportService reportService;
+    private final String type;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String category;
+    private final boolean includeOutOfStock;
+
+    public ReportPreviewTask(ReportExportService reportService, String type, LocalDate startDate, LocalDate endDate,
+                             String category, boolean includeOutOfStock) {
+        this.reportService = reportService;
+        this.type = type;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.category = category;
+        this.includeOutOfStock = includeOutOfStock;
+    }
+
+    // Ask the running report to stop; it then succeeds with a null value
+    public void stop() {
+        canceller.cancel();
+    }
+
+    @Override
+    protected ReportSnapshot call() throws Exception {
+        updateMessage("Counting rows...");
+        return reportService.runReport(type, startDate, endDate, category, includeOutOfStock, (read, total) -> {
+            updateProgress(read, total);
+            updateMessage("Read " + read + " of " + total + " rows...");
+        }, canceller);
+    }
+}
@@ -0,0 +1,379 @@
+package com.inventoryapp.service;
+
+import com.inventoryapp.model.DateDictionary;
+import com.inventoryapp.model.ItemReportRow;
+import com.inventoryapp.model.ReportColumns;
+import com.inventoryapp.model.ReportCursor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The rows of one report run, read once and then shared by the preview and
+ * every export, so they all show the same data without querying again.
+ * Each run gets a new version number. Small reports are kept in memory as
+ * ReportColumns; once a report has more than memoryRows rows they are spilled
+ * to a temp file and read back from there, keeping only the first rows in
+ * memory for the preview. Either way the rows are read through a ReportCursor.
+ * Closing the snapshot deletes the file once no cursor or retain() holds it.
+ */
+public class ReportSnapshot implements AutoCloseable {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final long version;
+    private final LocalDateTime createdAt;
+    private final String type;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String category;
+    private final boolean includeOutOfStock;
+    private final long rowCount;
+    private final List<ItemReportRow> firstRows;
+    // All rows when they fit in memory, null once spilled
+    private final ReportColumns columns;
+    // Decodes the date codes in the spill file
+    private final DateDictionary dates;
+    private final Path spillFile;
+
+    private int openReaders;
+    private boolean closed;
+
+    private ReportSnapshot(Builder builder, List<ItemReportRow> firstRows) {
+        this.version = VERSIONS.incrementAndGet();
+        this.createdAt = LocalDateTime.now();
+        this.type = builder.type;
+        this.startDate = builder.startDate;
+        this.endDate = builder.endDate;
+        this.category = builder.category;
+        this.includeOutOfStock = builder.includeOutOfStock;
+        this.rowCount = builder.rowCount;
+        this.firstRows = Collections.unmodifiableList(firstRows);
+        this.columns = builder.columns;
+        this.dates = builder.dates;
+        this.spillFile = builder.spillFile;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public boolean isIncludeOutOfStock() {
+        return includeOutOfStock;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    // The first rows of the report, as many as the builder was asked to keep
+    public List<ItemReportRow> getFirstRows() {
+        return firstRows;
+    }
+
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    // Every row in report order; close the cursor when done
+    public ReportCursor cursor() throws IOException {
+        if (spillFile == null) {
+            return columns.cursor();
+        }
+        synchronized (this) {
+            // A closed snapshot can still be read while someone holds it
+            if (closed && openReaders == 0) {
+                throw new IOException("Report snapshot " + version + " is closed.");
+            }
+            openReaders++;
+        }
+        try {
+            return new SpillCursor(new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile), BUFFER_SIZE)));
+        } catch (IOException e) {
+            readerClosed();
+            throw e;
+        }
+    }
+
+    // Keep the rows readable until release(), even if the snapshot is closed meanwhile.
+    // Take this on the thread that hands the snapshot to queued work, such as an export.
+    public void retain() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("Report snapshot " + version + " is closed.");
+            }
+            openReaders++;
+        }
+    }
+
+    public void release() {
+        readerClosed();
+    }
+
+    // Release the snapshot; the spill file goes when the last reader closes
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (openReaders > 0) {
+                return;
+            }
+        }
+        deleteSpillFile();
+    }
+
+    private void readerClosed() {
+        synchronized (this) {
+            openReaders--;
+            if (!closed || openReaders > 0) {
+                return;
+            }
+        }
+        deleteSpillFile();
+    }
+
+    private void deleteSpillFile() {
+        if (spillFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spillFile);
+        } catch (IOException e) {
+            System.err.println("Error deleting report snapshot file: " + e.getMessage());
+        }
+    }
+
+    private static void writeRow(DataOutputStream out, ItemReportRow row, DateDictionary dates) throws IOException {
+        out.writeInt(row.getId());
+        out.writeBoolean(row.getName() != null);
+        if (row.getName() != null) {
+            out.writeUTF(row.getName());
+        }
+        out.writeInt(row.getQuantity());
+        out.writeDouble(row.getPrice());
+        out.writeInt(dates.encode(row.getAddedDate()));
+    }
+
+    @Override
+    public String toString() {
+        return "ReportSnapshot{" +
+                "version=" + version +
+                ", createdAt=" + createdAt +
+                ", type='" + type + '\'' +
+                ", rowCount=" + rowCount +
+                ", spilled=" + isSpilled() +
+                '}';
+    }
+
+    // Reads the spill file one row at a time into its own fields
+    private class SpillCursor implements ReportCursor {
+        private final DataInputStream in;
+        private long read;
+        private boolean open = true;
+        private int id;
+        private String name;
+        private int quantity;
+        private double price;
+        private LocalDate addedDate;
+
+        private SpillCursor(DataInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (read >= rowCount) {
+                return false;
+            }
+            try {
+                id = in.readInt();
+                name = in.readBoolean() ? in.readUTF() : null;
+                quantity = in.readInt();
+                price = in.readDouble();
+                addedDate = dates.decode(in.readInt());
+            } catch (EOFException e) {
+                throw new IOException("Report snapshot " + version + " is truncated.", e);
+            }
+            read++;
+            return true;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public double getPrice() {
+            return price;
+        }
+
+        @Override
+        public LocalDate getAddedDate() {
+            return addedDate;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!open) {
+                return;
+            }
+            open = false;
+            try {
+                in.close();
+            } finally {
+                readerClosed();
+            }
+        }
+    }
+
+    /**
+     * Collects the rows of a report run in order. Call discard() instead of
+     * build() if the run is abandoned, so a spill file is not left behind.
+     */
+    public static class Builder {
+        private final String type;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final String category;
+        private final boolean includeOutOfStock;
+        private final int firstRows;
+        private final int memoryRows;
+
+        private final DateDictionary dates = new DateDictionary();
+        private ReportColumns columns = new ReportColumns(1024, dates);
+        private List<ItemReportRow> head;
+        private Path spillFile;
+        private DataOutputStream spill;
+        private long rowCount;
+
+        public Builder(String type, LocalDate startDate, LocalDate endDate, String category, boolean includeOutOfStock,
+                       int firstRows, int memoryRows) {
+            this.type = type;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.category = category;
+            this.includeOutOfStock = includeOutOfStock;
+            this.firstRows = Math.max(0, firstRows);
+            this.memoryRows = Math.max(this.firstRows, memoryRows);
+        }
+
+        public void add(ItemReportRow row) throws IOException {
+            rowCount++;
+            if (spill != null) {
+                writeRow(spill, row, dates);
+                return;
+            }
+            columns.add(row);
+            if (columns.size() > memoryRows) {
+                startSpill();
+            }
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public ReportSnapshot build() throws IOException {
+            if (spill == null) {
+                return new ReportSnapshot(this, firstRows(columns.size()));
+            }
+            try {
+                spill.close();
+            } catch (IOException e) {
+                discard();
+                throw e;
+            }
+            spill = null;
+            return new ReportSnapshot(this, head);
+        }
+
+        public void discard() {
+            columns = null;
+            if (spill != null) {
+                try {
+                    spill.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing report snapshot file: " + e.getMessage());
+                }
+                spill = null;
+            }
+            if (spillFile != null) {
+                try {
+                    Files.deleteIfExists(spillFile);
+                } catch (IOException e) {
+                    System.err.println("Error deleting report snapshot file: " + e.getMessage());
+                }
+            }
+        }
+
+        // Move the buffered rows to a temp file, keeping only the first rows
+        private void startSpill() throws IOException {
+            spillFile = Files.createTempFile("inventory-report-", ".snapshot");
+            spillFile.toFile().deleteOnExit();
+            try {
+                spill = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile), BUFFER_SIZE));
+                for (int i = 0; i < columns.size(); i++) {
+                    writeRow(spill, columns.getRow(i), dates);
+                }
+            } catch (IOException e) {
+                discard();
+                throw e;
+            }
+            head = firstRows(columns.size());
+            // Drop the full-size arrays; the snapshot keeps only the date dictionary
+            columns = null;
+        }
+
+        private List<ItemReportRow> firstRows(int available) {
+            List<ItemReportRow> rows = new ArrayList<>(Math.min(firstRows, available));
+            for (int i = 0; i < firstRows && i < available; i++) {
+                rows.add(columns.getRow(i));
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.inventoryapp.util;
+
+import com.inventoryapp.model.ReportCursor;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CSV export of report rows (RFC 4180: comma separated, CRLF line ends,
+ * fields quoted when they contain a comma, quote or line break).
+ * Rows are written as they are read from the cursor, through a large buffer,
+ * so memory use does not depend on the number of rows.
+ */
+public class CSVExporter {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final List<String> HEADER = List.of("ID", "Name", "Quantity", "Price", "Added Date");
+
+    // Write the cursor's rows to filePath, gzip-compressed if requested; returns the number of rows written
+    public static long export(String filePath, ReportCursor rows, boolean gzip) throws IOException {
+        OutputStream out = new FileOutputStream(filePath);
+        try {
+            if (gzip) {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            } else {
+                out = new BufferedOutputStream(out, BUFFER_SIZE);
+            }
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writeRecord(writer, HEADER);
+            long count = 0;
+            // Cursors hand out the same LocalDate for equal dates, so its text is reused while it repeats
+            LocalDate lastDate = null;
+            String lastDateText = "";
+            while (rows.next()) {
+                writer.write(Integer.toString(rows.getId()));
+                writer.write(',');
+                writeField(writer, rows.getName());
+                writer.write(',');
+                writer.write(Integer.toString(rows.getQuantity()));
+                writer.write(',');
+                writer.write(Double.toString(rows.getPrice()));
+                writer.write(',');
+                LocalDate date = rows.getAddedDate();
+                if (date != lastDate) {
+                    lastDate = date;
+                    lastDateText = date != null ? date.toString() : "";
+                }
+                writer.write(lastDateText);
+                writer.write("\r\n");
+                count++;
+            }
+            return count;
+        }
+    }
+
+    // Write one record; null fields are written empty
+    public static void writeRecord(Writer out, List<?> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Object field = fields.get(i);
+            writeField(out, field == null ? "" : field.toString());
+        }
+        out.write("\r\n");
+    }
+
+    // Write one field, quoted only when it has to be
+    public static void writeField(Writer out, String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        if (!needsQuotes(field)) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        int quote;
+        while ((quote = field.indexOf('"', start)) >= 0) {
+            out.write(field, start, quote + 1 - start);
+            out.write('"');
+            start = quote + 1;
+        }
+        out.write(field, start, field.length() - start);
+        out.write('"');
+    }
+
+    private static boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,378 @@
+package com.inventoryapp.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of long-lived SQLite connections.
+ * Connections stay open between borrows so each one keeps its parsed schema
+ * and warm page cache. Callers use the returned connection exactly like a
+ * DriverManager connection: close() hands it back to the pool.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final ConnectionCustomizer customizer;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long leakThresholdMillis;
+
+    // Idle physical connections; used LIFO so the most recently used (warmest) one is reused first
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger physicalCount = new AtomicInteger();
+    private final Map<Connection, Lease> leases = new ConcurrentHashMap<>();
+    private final List<ConnectionListener> listeners = new CopyOnWriteArrayList<>();
+    // Number of listeners already attached to each physical connection
+    private final Map<Connection, Integer> attachedListeners = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService leakDetector;
+    private volatile boolean shutdown;
+
+    // Metrics
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+
+    public ConnectionPool(String url, int maxSize, long borrowTimeoutMillis, long leakThresholdMillis) {
+        this(url, conn -> { }, maxSize, borrowTimeoutMillis, leakThresholdMillis);
+    }
+
+    public ConnectionPool(String url, ConnectionCustomizer customizer, int maxSize,
+                          long borrowTimeoutMillis, long leakThresholdMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1.");
+        }
+        this.url = url;
+        this.customizer = customizer;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        if (leakThresholdMillis > 0) {
+            leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "db-pool-leak-detector");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = Math.max(1000, leakThresholdMillis / 2);
+            leakDetector.scheduleAtFixedRate(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            leakDetector = null;
+        }
+    }
+
+    // Open connections up front so the first queries don't pay the setup cost
+    public void warmUp(int count) {
+        int target = Math.min(count, maxSize);
+        while (physicalCount.get() < target) {
+            try {
+                idle.offerLast(openPhysical());
+            } catch (SQLException e) {
+                System.err.println("Failed to pre-open pooled connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // Register a listener; connections that are already open attach it on their next borrow
+    public void addListener(ConnectionListener listener) {
+        listeners.add(listener);
+    }
+
+    // Borrow a connection, waiting up to the borrow timeout when all are in use
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down.");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (" + maxSize + " in use).");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        Connection physical = null;
+        try {
+            physical = idle.pollFirst();
+            if (physical == null || physical.isClosed()) {
+                if (physical != null) {
+                    physicalCount.decrementAndGet();
+                }
+                physical = openPhysical();
+            }
+            attachListeners(physical);
+            return lease(physical);
+        } catch (SQLException | RuntimeException e) {
+            if (physical != null) {
+                discard(physical);
+            }
+            permits.release();
+            throw e;
+        }
+    }
+
+    public PoolMetrics getMetrics() {
+        long borrows = borrowCount.sum();
+        long waitNanos = totalWaitNanos.sum();
+        int active = leases.size();
+        return new PoolMetrics(maxSize, active, idle.size(), borrows,
+                borrows == 0 ? 0 : waitNanos / borrows / 1000,
+                maxWaitNanos.get() / 1000, timeoutCount.sum(), leakCount.sum());
+    }
+
+    // Close every idle connection and refuse further borrows
+    public void shutdown() {
+        shutdown = true;
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+        }
+        Connection conn;
+        while ((conn = idle.pollFirst()) != null) {
+            discard(conn);
+        }
+        if (!leases.isEmpty()) {
+            System.err.println("Connection pool shut down with " + leases.size() + " connection(s) still borrowed.");
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try {
+            customizer.customize(conn);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        physicalCount.incrementAndGet();
+        return conn;
+    }
+
+    private Connection lease(Connection physical) {
+        Lease lease = new Lease(physical, leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null);
+        Connection proxy = (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(), new Class<?>[]{Connection.class}, lease);
+        leases.put(proxy, lease);
+        borrowCount.increment();
+        return proxy;
+    }
+
+    private void release(Connection proxy, Lease lease) {
+        leases.remove(proxy);
+        Connection physical = lease.physical;
+        try {
+            // Never hand out a connection with someone else's open transaction
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            notifyReleased(physical);
+            if (shutdown || physical.isClosed()) {
+                discard(physical);
+            } else {
+                idle.offerFirst(physical);
+            }
+        } catch (SQLException e) {
+            System.err.println("Discarding pooled connection after failed reset: " + e.getMessage());
+            discard(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void attachListeners(Connection physical) throws SQLException {
+        int attached = attachedListeners.getOrDefault(physical, 0);
+        while (attached < listeners.size()) {
+            listeners.get(attached).attached(physical);
+            attachedListeners.put(physical, ++attached);
+        }
+    }
+
+    private void notifyReleased(Connection physical) {
+        int attached = attachedListeners.getOrDefault(physical, 0);
+        for (int i = 0; i < attached; i++) {
+            try {
+                listeners.get(i).released(physical);
+            } catch (RuntimeException e) {
+                System.err.println("Connection listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void discard(Connection physical) {
+        attachedListeners.remove(physical);
+        try {
+            if (!physical.isClosed()) {
+                physical.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("Failed to close pooled connection: " + e.getMessage());
+        } finally {
+            physicalCount.decrementAndGet();
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void detectLeaks() {
+        long now = System.currentTimeMillis();
+        for (Lease lease : leases.values()) {
+            long heldFor = now - lease.borrowedAt;
+            if (heldFor > leakThresholdMillis && !lease.reported) {
+                lease.reported = true;
+                leakCount.increment();
+                System.err.println("Possible connection leak: connection held for " + heldFor + " ms");
+                if (lease.borrowSite != null) {
+                    lease.borrowSite.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Per-connection setup run once when a physical connection is opened.
+     */
+    @FunctionalInterface
+    public interface ConnectionCustomizer {
+        void customize(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Per-connection hooks registered after the pool was created.
+     */
+    public interface ConnectionListener {
+        // Once per physical connection, on the borrowing thread before first use
+        void attached(Connection conn) throws SQLException;
+
+        // After every borrow ends; any transaction has been committed or rolled back by then
+        default void released(Connection conn) {
+        }
+    }
+
+    // Tracks one borrow and forwards calls to the physical connection until it is closed
+    private class Lease implements InvocationHandler {
+        private final Connection physical;
+        private final Throwable borrowSite;
+        private final long borrowedAt = System.currentTimeMillis();
+        private volatile boolean closed;
+        private volatile boolean reported;
+
+        private Lease(Connection physical, Throwable borrowSite) {
+            this.physical = physical;
+            this.borrowSite = borrowSite;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        release((Connection) proxy, this);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled[" + physical + "]";
+                }
+                default -> {
+                    if (closed) {
+                        throw new SQLException("Connection has been returned to the pool.");
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Point-in-time snapshot of pool usage.
+     */
+    public static class PoolMetrics {
+        private final int maxSize;
+        private final int active;
+        private final int idle;
+        private final long borrowCount;
+        private final long averageWaitMicros;
+        private final long maxWaitMicros;
+        private final long timeoutCount;
+        private final long leakCount;
+
+        private PoolMetrics(int maxSize, int active, int idle, long borrowCount, long averageWaitMicros,
+                            long maxWaitMicros, long timeoutCount, long leakCount) {
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.borrowCount = borrowCount;
+            this.averageWaitMicros = averageWaitMicros;
+            this.maxWaitMicros = maxWaitMicros;
+            this.timeoutCount = timeoutCount;
+            this.leakCount = leakCount;
+        }
+
+        public int getMaxSize() { return maxSize; }
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getAverageWaitMicros() { return averageWaitMicros; }
+        public long getMaxWaitMicros() { return maxWaitMicros; }
+        public long getTimeoutCount() { return timeoutCount; }
+        public long getLeakCount() { return leakCount; }
+
+        @Override
+        public String toString() {
+            return "PoolMetrics{" +
+                    "maxSize=" + maxSize +
+                    ", active=" + active +
+                    ", idle=" + idle +
+                    ", borrows=" + borrowCount +
+                    ", avgWaitMicros=" + averageWaitMicros +
+                    ", maxWaitMicros=" + maxWaitMicros +
+                    ", timeouts=" + timeoutCount +
+                    ", leaks=" + leakCount +
+                    '}';
+        }
+    }
+}
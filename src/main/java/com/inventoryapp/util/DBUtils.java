@@ -1,42 +1,107 @@
 package com.inventoryapp.util;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
  * Database Manager for SQLite operations.
  * Handles database connection, initialization, and table creation.
+ * Connections come from a shared {@link ConnectionPool}; closing one returns it to the pool.
  */
 public class DBUtils {
 
-    private static final String DB_URL = "jdbc:sqlite:inventory.db";
+    private static final String DB_URL = DatabaseConfig.getString("db.url", "jdbc:sqlite:inventory.db");
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    // Initialize database and create all required tables
-    public static void initializeDatabase() {
+    private static final StorageProfile STORAGE_PROFILE = StorageProfile.fromConfig();
+    private static final TimestampFormat TIMESTAMP_FORMAT = TimestampFormat.fromConfig();
+
+    private static volatile ConnectionPool pool;
+
+    // Initialize database and create all required tables; false if the schema could not be brought up to date
+    public static boolean initializeDatabase() {
+        getPool().warmUp(DatabaseConfig.getInt("db.pool.minIdle", 1));
         try (Connection conn = getConnection()) {
             System.out.println("SQLite connected successfully.");
+            System.out.println(STORAGE_PROFILE.describe(conn));
             createUsersTable(conn);
             createProductsTable(conn);
             createInventoryTable(conn);
+            SchemaMigrator.migrate(conn);
+            TIMESTAMP_FORMAT.migrate(conn);
             System.out.println("Database initialized successfully!");
+            return true;
         } catch (SQLException e) {
             System.err.println("Error initializing database: " + e.getMessage());
+            return false;
         }
     }
 
-    // Get database connection
+    // Get database connection from the pool
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL);
+        return getPool().getConnection();
+    }
+
+    // Open a connection outside the pool for long-running maintenance (backups); the caller closes it
+    public static Connection openDedicatedConnection() throws SQLException {
+        Connection conn = DriverManager.getConnection(DB_URL);
+        try {
+            STORAGE_PROFILE.apply(conn);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
     }
 
-    // Close database connection
+    // Get the shared connection pool, creating it on first use
+    public static ConnectionPool getPool() {
+        ConnectionPool result = pool;
+        if (result == null) {
+            synchronized (DBUtils.class) {
+                result = pool;
+                if (result == null) {
+                    result = new ConnectionPool(
+                            DB_URL,
+                            STORAGE_PROFILE::apply,
+                            DatabaseConfig.getInt("db.pool.size", 4),
+                            DatabaseConfig.getLong("db.pool.borrowTimeoutMs", 5000),
+                            DatabaseConfig.getLong("db.pool.leakThresholdMs", 30000));
+                    pool = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Storage profile applied to every connection
+    public static StorageProfile getStorageProfile() {
+        return STORAGE_PROFILE;
+    }
+
+    // Storage format of inventory item timestamps
+    public static TimestampFormat getTimestampFormat() {
+        return TIMESTAMP_FORMAT;
+    }
+
+    // Close all pooled connections (call once on application exit)
+    public static void shutdown() {
+        synchronized (DBUtils.class) {
+            if (pool != null) {
+                System.out.println("Closing connection pool: " + pool.getMetrics());
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
+
+    // Close database connection (returns pooled connections to the pool)
     public static void closeConnection(Connection conn) {
         try {
             if (conn != null) {
                 conn.close();
-                System.out.println("SQLite connection closed.");
             }
         } catch (SQLException e) {
             System.err.println("Failed to close connection: " + e.getMessage());
@@ -91,10 +156,10 @@ public class DBUtils {
                 quantity INTEGER NOT NULL DEFAULT 0,
                 price REAL NOT NULL DEFAULT 0.0,
                 supplier TEXT,
-                created_at TEXT NOT NULL,
-                updated_at TEXT NOT NULL
+                created_at %1$s NOT NULL,
+                updated_at %1$s NOT NULL
             )
-        """;
+        """.formatted(TIMESTAMP_FORMAT.getColumnType());
 
         try (Statement stmt = conn.createStatement()) {
             stmt.execute(sql);
@@ -110,4 +175,27 @@ public class DBUtils {
     public static LocalDateTime parseDateTime(String dateTimeString) {
         return LocalDateTime.parse(dateTimeString, FORMATTER);
     }
+
+    // Case-fold a name the way SQLite's NOCASE collation compares it (ASCII letters only)
+    public static String foldNoCase(String text) {
+        if (text == null) {
+            return null;
+        }
+        char[] chars = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                if (chars == null) {
+                    chars = text.toCharArray();
+                }
+                chars[i] = (char) (c + ('a' - 'A'));
+            }
+        }
+        return chars == null ? text : new String(chars);
+    }
+
+    // Date part of a stored timestamp; the leading yyyy-MM-dd is ISO format, so no formatter is needed
+    public static LocalDate parseDate(String dateTimeString) {
+        return LocalDate.parse(dateTimeString.substring(0, 10));
+    }
 }
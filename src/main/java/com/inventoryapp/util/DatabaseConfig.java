@@ -0,0 +1,71 @@
+package com.inventoryapp.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Database configuration.
+ * Reads settings from database.properties on the classpath; any key can be
+ * overridden with a JVM system property of the same name (-Ddb.pool.size=8).
+ */
+public class DatabaseConfig {
+
+    private static final String RESOURCE = "/database.properties";
+    private static final Properties PROPERTIES = load();
+
+    private DatabaseConfig() {
+    }
+
+    private static Properties load() {
+        Properties props = new Properties();
+        try (InputStream in = DatabaseConfig.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read " + RESOURCE + ": " + e.getMessage());
+        }
+        return props;
+    }
+
+    // Get a string setting, falling back to the given default
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key, PROPERTIES.getProperty(key));
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    // Get an integer setting, falling back to the default when missing or malformed
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    // Get a long setting, falling back to the default when missing or malformed
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    // Get a boolean setting, falling back to the default when missing
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
@@ -0,0 +1,41 @@
+package com.inventoryapp.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-width text rows for plain-text reports.
+ * The column layout is set up once, and each row is written by padding its
+ * values straight into a StringBuilder, which is much cheaper per row than
+ * parsing a String.format pattern. Values are left-aligned and padded to the
+ * column width (never cut off), with one space between columns, like "%-10s".
+ */
+public class FixedWidthFormatter {
+
+    private final int[] widths;
+    private final String rule;
+
+    public FixedWidthFormatter(int... widths) {
+        this.widths = widths.clone();
+        int total = Arrays.stream(widths).sum() + widths.length - 1;
+        this.rule = "-".repeat(Math.max(0, total)) + "\n";
+    }
+
+    // Append one line; missing values are written as blanks
+    public StringBuilder appendRow(StringBuilder out, Object... values) {
+        for (int i = 0; i < widths.length; i++) {
+            String value = i < values.length && values[i] != null ? values[i].toString() : "";
+            out.append(value);
+            // The last column is padded too, as "%-10s\n" would
+            for (int pad = widths[i] - value.length(); pad > 0; pad--) {
+                out.append(' ');
+            }
+            out.append(i < widths.length - 1 ? ' ' : '\n');
+        }
+        return out;
+    }
+
+    // Append a dashed line as wide as the columns
+    public StringBuilder appendRule(StringBuilder out) {
+        return out.append(rule);
+    }
+}
@@ -1,5 +1,6 @@
 package com.inventoryapp.util;
 
+import com.inventoryapp.model.ReportCursor;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.layout.Document;
@@ -7,35 +8,59 @@ import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
+/**
+ * PDF export of report rows.
+ * Uses iText's large-table mode: the table is added to the document before
+ * its rows, and every FLUSH_ROWS rows the finished part is laid out, written
+ * to the file and released, so memory use does not grow with the row count.
+ * The header row is repeated on every page.
+ */
 public class PdfExporter {
-    public static void export(String filePath, List<Map<String, Object>> data) throws IOException {
-        PdfWriter writer = new PdfWriter(filePath);
-        PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
-
-        // Title
-        document.add(new Paragraph("Inventory Stock Report").setBold());
-
-        // Table
-        float[] columnWidths = {50, 150, 100, 100};
-        Table table = new Table(columnWidths);
-
-        table.addCell("ID");
-        table.addCell("Name");
-        table.addCell("Quantity");
-        table.addCell("Price");
-
-        for (Map<String, Object> row : data) {
-            table.addCell(row.get("id").toString());
-            table.addCell(row.get("name").toString());
-            table.addCell(row.get("quantity").toString());
-            table.addCell(row.get("price").toString());
-        }
 
-        document.add(table);
-        document.close();
+    private static final int FLUSH_ROWS = 500;
+
+    // Write the cursor's rows to filePath; returns the number of rows written.
+    // If anything fails part way, the document is closed and the half-written file deleted.
+    public static long export(String filePath, ReportCursor rows) throws IOException {
+        boolean written = false;
+        try {
+            long count;
+            try (Document document = new Document(new PdfDocument(new PdfWriter(filePath)))) {
+                // Title
+                document.add(new Paragraph("Inventory Stock Report").setBold());
+
+                // Table
+                float[] columnWidths = {50, 150, 100, 100};
+                Table table = new Table(columnWidths, true);
+
+                table.addHeaderCell("ID");
+                table.addHeaderCell("Name");
+                table.addHeaderCell("Quantity");
+                table.addHeaderCell("Price");
+                document.add(table);
+
+                count = 0;
+                while (rows.next()) {
+                    table.addCell(Integer.toString(rows.getId()));
+                    table.addCell(rows.getName());
+                    table.addCell(Integer.toString(rows.getQuantity()));
+                    table.addCell(Double.toString(rows.getPrice()));
+                    if (++count % FLUSH_ROWS == 0) {
+                        table.flush();
+                    }
+                }
+
+                table.complete();
+            }
+            written = true;
+            return count;
+        } finally {
+            if (!written) {
+                Files.deleteIfExists(Paths.get(filePath));
+            }
+        }
     }
 }
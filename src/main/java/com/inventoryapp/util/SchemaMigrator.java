@@ -0,0 +1,280 @@
+package com.inventoryapp.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Versioned schema migrations.
+ * Each migration runs once, in its own transaction, and is recorded in the
+ * schema_version table. Existing databases are upgraded in place at startup;
+ * new migrations are appended to MIGRATIONS with the next version number.
+ */
+public class SchemaMigrator {
+
+    // Current time as epoch milliseconds in SQL (julianday of 1970-01-01 is 2440587.5)
+    private static final String NOW_MILLIS = "CAST(ROUND((julianday('now') - 2440587.5) * 86400000) AS INTEGER)";
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            Migration.sql(1, "Indexes for name ordering, category filters, stock thresholds and recent changes",
+                    "CREATE INDEX IF NOT EXISTS idx_inventory_items_name ON inventory_items(name COLLATE NOCASE)",
+                    "CREATE INDEX IF NOT EXISTS idx_inventory_items_category ON inventory_items(category COLLATE NOCASE)",
+                    "CREATE INDEX IF NOT EXISTS idx_inventory_items_quantity ON inventory_items(quantity)",
+                    "CREATE INDEX IF NOT EXISTS idx_inventory_items_updated_at ON inventory_items(updated_at)"),
+            Migration.sql(2, "Full-text search index over item name, description, supplier and category",
+                    """
+                    CREATE VIRTUAL TABLE IF NOT EXISTS inventory_items_fts USING fts5(
+                        name, description, supplier, category,
+                        content='inventory_items', content_rowid='id',
+                        tokenize='unicode61 remove_diacritics 2', prefix='2 3'
+                    )
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS inventory_items_fts_insert AFTER INSERT ON inventory_items BEGIN
+                        INSERT INTO inventory_items_fts (rowid, name, description, supplier, category)
+                        VALUES (new.id, new.name, new.description, new.supplier, new.category);
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS inventory_items_fts_delete AFTER DELETE ON inventory_items BEGIN
+                        INSERT INTO inventory_items_fts (inventory_items_fts, rowid, name, description, supplier, category)
+                        VALUES ('delete', old.id, old.name, old.description, old.supplier, old.category);
+                    END
+                    """,
+                    // Only text columns are indexed, so stock changes never touch the FTS table
+                    """
+                    CREATE TRIGGER IF NOT EXISTS inventory_items_fts_update
+                    AFTER UPDATE OF name, description, supplier, category ON inventory_items BEGIN
+                        INSERT INTO inventory_items_fts (inventory_items_fts, rowid, name, description, supplier, category)
+                        VALUES ('delete', old.id, old.name, old.description, old.supplier, old.category);
+                        INSERT INTO inventory_items_fts (rowid, name, description, supplier, category)
+                        VALUES (new.id, new.name, new.description, new.supplier, new.category);
+                    END
+                    """,
+                    "INSERT INTO inventory_items_fts (inventory_items_fts) VALUES ('rebuild')"),
+            new Migration(3, "Unique case-insensitive item names", conn -> {
+                // Older databases may already hold duplicates: keep the oldest, rename the rest
+                renameDuplicateNames(conn);
+                try (Statement stmt = conn.createStatement()) {
+                    // The unique index also serves name ordering, replacing the plain one from migration 1
+                    stmt.execute("DROP INDEX IF EXISTS idx_inventory_items_name");
+                    stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS ux_inventory_items_name ON inventory_items(name COLLATE NOCASE)");
+                }
+            }),
+            Migration.sql(4, "Index for report date-range filters",
+                    "CREATE INDEX IF NOT EXISTS idx_inventory_items_created_at ON inventory_items(created_at)"),
+            Migration.sql(5, "Stock movement ledger and per-item snapshots",
+                    // moved_at is always epoch millis, whatever format inventory_items uses
+                    """
+                    CREATE TABLE IF NOT EXISTS stock_movements (
+                        id INTEGER PRIMARY KEY,
+                        item_id INTEGER NOT NULL,
+                        delta INTEGER NOT NULL,
+                        quantity_after INTEGER NOT NULL,
+                        reason TEXT NOT NULL,
+                        moved_at INTEGER NOT NULL
+                    )
+                    """,
+                    "CREATE INDEX IF NOT EXISTS idx_stock_movements_item ON stock_movements(item_id, moved_at)",
+                    "CREATE INDEX IF NOT EXISTS idx_stock_movements_moved_at ON stock_movements(moved_at)",
+                    // Compacted history: the quantity after the last movement folded in, per item
+                    """
+                    CREATE TABLE IF NOT EXISTS stock_snapshots (
+                        item_id INTEGER PRIMARY KEY,
+                        quantity INTEGER NOT NULL,
+                        as_of INTEGER NOT NULL,
+                        movements_compacted INTEGER NOT NULL
+                    )
+                    """,
+                    // Triggers record every stock change, whichever code path makes it
+                    """
+                    CREATE TRIGGER IF NOT EXISTS stock_movements_insert
+                    AFTER INSERT ON inventory_items WHEN new.quantity <> 0 BEGIN
+                        INSERT INTO stock_movements (item_id, delta, quantity_after, reason, moved_at)
+                        VALUES (new.id, new.quantity, new.quantity, 'added', %1$s);
+                    END
+                    """.formatted(NOW_MILLIS),
+                    """
+                    CREATE TRIGGER IF NOT EXISTS stock_movements_update
+                    AFTER UPDATE OF quantity ON inventory_items WHEN new.quantity <> old.quantity BEGIN
+                        INSERT INTO stock_movements (item_id, delta, quantity_after, reason, moved_at)
+                        VALUES (new.id, new.quantity - old.quantity, new.quantity, 'adjusted', %1$s);
+                    END
+                    """.formatted(NOW_MILLIS),
+                    """
+                    CREATE TRIGGER IF NOT EXISTS stock_movements_delete
+                    AFTER DELETE ON inventory_items WHEN old.quantity <> 0 BEGIN
+                        INSERT INTO stock_movements (item_id, delta, quantity_after, reason, moved_at)
+                        VALUES (old.id, -old.quantity, 0, 'deleted', %1$s);
+                    END
+                    """.formatted(NOW_MILLIS),
+                    // Opening balances so history adds up for items that existed before the ledger
+                    """
+                    INSERT INTO stock_movements (item_id, delta, quantity_after, reason, moved_at)
+                    SELECT id, quantity, quantity, 'opening', %1$s FROM inventory_items WHERE quantity <> 0
+                    """.formatted(NOW_MILLIS)),
+            Migration.sql(6, "Reindex full-text search only when an indexed column actually changes",
+                    // UPDATE OF fires whenever the columns are in the SET list, and form saves always set them
+                    "DROP TRIGGER IF EXISTS inventory_items_fts_update",
+                    """
+                    CREATE TRIGGER inventory_items_fts_update
+                    AFTER UPDATE OF name, description, supplier, category ON inventory_items
+                    WHEN old.name IS NOT new.name OR old.description IS NOT new.description
+                        OR old.supplier IS NOT new.supplier OR old.category IS NOT new.category BEGIN
+                        INSERT INTO inventory_items_fts (inventory_items_fts, rowid, name, description, supplier, category)
+                        VALUES ('delete', old.id, old.name, old.description, old.supplier, old.category);
+                        INSERT INTO inventory_items_fts (rowid, name, description, supplier, category)
+                        VALUES (new.id, new.name, new.description, new.supplier, new.category);
+                    END
+                    """)
+    );
+
+    private SchemaMigrator() {
+    }
+
+    // Apply every migration newer than the database's current version
+    public static void migrate(Connection conn) throws SQLException {
+        createVersionTable(conn);
+        int current = getCurrentVersion(conn);
+        int applied = 0;
+
+        for (Migration migration : MIGRATIONS) {
+            if (migration.getVersion() <= current) {
+                continue;
+            }
+            apply(conn, migration);
+            applied++;
+            System.out.println("Applied schema migration " + migration.getVersion() + ": " + migration.getDescription());
+        }
+
+        if (applied > 0) {
+            // Refresh planner statistics so the new indexes are actually chosen
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE");
+            }
+        }
+        System.out.println("Schema version: " + getCurrentVersion(conn));
+    }
+
+    public static int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void createVersionTable(Connection conn) throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INTEGER PRIMARY KEY,
+                description TEXT NOT NULL,
+                applied_at TEXT NOT NULL
+            )
+        """;
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    // Suffix every duplicate but the oldest with its id, adding a counter if that name is taken too
+    private static void renameDuplicateNames(Connection conn) throws SQLException {
+        Set<String> taken = new HashSet<>();
+        List<Integer> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, name FROM inventory_items ORDER BY id")) {
+            while (rs.next()) {
+                String name = rs.getString(2);
+                if (!taken.add(DBUtils.foldNoCase(name))) {
+                    ids.add(rs.getInt(1));
+                    names.add(name);
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement("UPDATE inventory_items SET name = ? WHERE id = ?")) {
+            for (int i = 0; i < ids.size(); i++) {
+                int id = ids.get(i);
+                String renamed = names.get(i) + " (" + id + ")";
+                for (int counter = 2; !taken.add(DBUtils.foldNoCase(renamed)); counter++) {
+                    renamed = names.get(i) + " (" + id + "-" + counter + ")";
+                }
+                pstmt.setString(1, renamed);
+                pstmt.setInt(2, id);
+                pstmt.executeUpdate();
+            }
+        }
+        System.out.println("Renamed " + ids.size() + " duplicate item names.");
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            migration.getStep().apply(conn);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)")) {
+                pstmt.setInt(1, migration.getVersion());
+                pstmt.setString(2, migration.getDescription());
+                pstmt.setString(3, DBUtils.formatDateTime(LocalDateTime.now()));
+                pstmt.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            // Roll back before auto-commit is restored, which would commit the half-applied step
+            conn.rollback();
+            throw new SQLException("Schema migration " + migration.getVersion() + " failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Work performed by one migration, inside the migration's transaction.
+     */
+    @FunctionalInterface
+    public interface MigrationStep {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * A numbered schema change.
+     */
+    public static class Migration {
+        private final int version;
+        private final String description;
+        private final MigrationStep step;
+
+        public Migration(int version, String description, MigrationStep step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+
+        // Migration made of plain SQL statements run in order
+        public static Migration sql(int version, String description, String... statements) {
+            return new Migration(version, description, conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    for (String statement : statements) {
+                        stmt.execute(statement);
+                    }
+                }
+            });
+        }
+
+        public int getVersion() { return version; }
+        public String getDescription() { return description; }
+        public MigrationStep getStep() { return step; }
+    }
+}
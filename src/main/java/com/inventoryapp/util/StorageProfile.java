@@ -0,0 +1,97 @@
+package com.inventoryapp.util;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * SQLite storage profiles applied to every pooled connection.
+ * All profiles use WAL so dashboard reads never wait for an inventory write;
+ * they differ in how much durability is traded for write speed and memory.
+ *
+ * DURABLE    - fsync on every commit, no memory mapping
+ * BALANCED   - fsync at WAL checkpoints only; a power loss can drop the last commits but never corrupts
+ * THROUGHPUT - no fsync, large mmap and cache; for bulk loads on machines with reliable power
+ */
+public enum StorageProfile {
+
+    DURABLE("FULL", 0L, 8 * 1024, "DEFAULT"),
+    BALANCED("NORMAL", 64L * 1024 * 1024, 16 * 1024, "MEMORY"),
+    THROUGHPUT("OFF", 256L * 1024 * 1024, 64 * 1024, "MEMORY");
+
+    private final String synchronous;
+    private final long mmapSize;
+    private final int cacheSizeKb;
+    private final String tempStore;
+
+    StorageProfile(String synchronous, long mmapSize, int cacheSizeKb, String tempStore) {
+        this.synchronous = synchronous;
+        this.mmapSize = mmapSize;
+        this.cacheSizeKb = cacheSizeKb;
+        this.tempStore = tempStore;
+    }
+
+    // Profile selected by db.storage.profile (defaults to BALANCED)
+    public static StorageProfile fromConfig() {
+        String name = DatabaseConfig.getString("db.storage.profile", "balanced");
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown storage profile '" + name + "', using balanced.");
+            return BALANCED;
+        }
+    }
+
+    // Apply the profile's PRAGMAs; individual values can be overridden in database.properties
+    public void apply(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // busy_timeout first so the journal mode switch waits for other connections
+            stmt.execute("PRAGMA busy_timeout = " + getBusyTimeoutMillis());
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = " + getSynchronous());
+            stmt.execute("PRAGMA mmap_size = " + getMmapSize());
+            // Negative cache_size is in KiB rather than pages
+            stmt.execute("PRAGMA cache_size = -" + getCacheSizeKb());
+            stmt.execute("PRAGMA temp_store = " + getTempStore());
+        }
+    }
+
+    // Read back the settings SQLite actually applied to this connection
+    public String describe(Connection conn) throws SQLException {
+        return "Storage profile " + name().toLowerCase() + ": " +
+                "journal_mode=" + pragma(conn, "journal_mode") +
+                ", synchronous=" + pragma(conn, "synchronous") +
+                ", mmap_size=" + pragma(conn, "mmap_size") +
+                ", cache_size=" + pragma(conn, "cache_size") +
+                ", temp_store=" + pragma(conn, "temp_store") +
+                ", busy_timeout=" + pragma(conn, "busy_timeout");
+    }
+
+    public String getSynchronous() {
+        return DatabaseConfig.getString("db.storage.synchronous", synchronous);
+    }
+
+    public long getMmapSize() {
+        return DatabaseConfig.getLong("db.storage.mmapSize", mmapSize);
+    }
+
+    public int getCacheSizeKb() {
+        return DatabaseConfig.getInt("db.storage.cacheSizeKb", cacheSizeKb);
+    }
+
+    public String getTempStore() {
+        return DatabaseConfig.getString("db.storage.tempStore", tempStore);
+    }
+
+    public int getBusyTimeoutMillis() {
+        return DatabaseConfig.getInt("db.storage.busyTimeoutMs", 5000);
+    }
+
+    private static String pragma(Connection conn, String name) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA " + name)) {
+            return rs.next() ? rs.getString(1) : "?";
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.inventoryapp.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How inventory_items.created_at and updated_at are stored.
+ *
+ * TEXT         - "yyyy-MM-dd HH:mm:ss" strings; every read goes through a DateTimeFormatter
+ * EPOCH_MILLIS - INTEGER milliseconds since the epoch; reads are a plain getLong and
+ *                items decode the value only when the timestamp is actually used
+ *
+ * Both formats sort chronologically, so date filters stay range scans on the
+ * created_at index. Switching db.timestamps.format converts existing rows in
+ * place at startup.
+ */
+public enum TimestampFormat {
+
+    TEXT("TEXT"),
+    EPOCH_MILLIS("INTEGER");
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final String columnType;
+
+    TimestampFormat(String columnType) {
+        this.columnType = columnType;
+    }
+
+    // Format selected by db.timestamps.format: text or epoch (defaults to epoch)
+    public static TimestampFormat fromConfig() {
+        String name = DatabaseConfig.getString("db.timestamps.format", "epoch");
+        if ("epoch".equalsIgnoreCase(name) || "epoch_millis".equalsIgnoreCase(name)) {
+            return EPOCH_MILLIS;
+        }
+        if ("text".equalsIgnoreCase(name)) {
+            return TEXT;
+        }
+        System.err.println("Unknown timestamp format '" + name + "', using epoch.");
+        return EPOCH_MILLIS;
+    }
+
+    // Declared SQLite type of the timestamp columns
+    public String getColumnType() {
+        return columnType;
+    }
+
+    // Value to bind for a timestamp (String or Long)
+    public Object toDatabase(LocalDateTime dateTime) {
+        return this == TEXT ? DBUtils.formatDateTime(dateTime) : toEpochMillis(dateTime);
+    }
+
+    public void bind(PreparedStatement pstmt, int index, LocalDateTime dateTime) throws SQLException {
+        if (this == TEXT) {
+            pstmt.setString(index, DBUtils.formatDateTime(dateTime));
+        } else {
+            pstmt.setLong(index, toEpochMillis(dateTime));
+        }
+    }
+
+    public LocalDateTime read(ResultSet rs, int column) throws SQLException {
+        return this == TEXT ? DBUtils.parseDateTime(rs.getString(column)) : fromEpochMillis(rs.getLong(column));
+    }
+
+    public LocalDate readDate(ResultSet rs, int column) throws SQLException {
+        return this == TEXT
+                ? DBUtils.parseDate(rs.getString(column))
+                : LocalDate.ofInstant(Instant.ofEpochMilli(rs.getLong(column)), ZONE);
+    }
+
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    // Convert inventory_items to this format if it was created with the other one
+    public void migrate(Connection conn) throws SQLException {
+        String current = declaredType(conn, "inventory_items", "created_at");
+        if (current == null || columnType.equalsIgnoreCase(current)) {
+            return;
+        }
+
+        TimestampFormat from = this == TEXT ? EPOCH_MILLIS : TEXT;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            int rows = rebuildItemsTable(conn, from);
+            conn.commit();
+            System.out.println("Converted " + rows + " item timestamps to " + name().toLowerCase() + " storage.");
+        } catch (SQLException | RuntimeException e) {
+            // A malformed timestamp throws DateTimeParseException; roll back the half-filled copy too
+            conn.rollback();
+            throw new SQLException("Timestamp conversion failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // SQLite cannot change a column's type, so copy the rows into a new table and swap it in
+    private int rebuildItemsTable(Connection conn, TimestampFormat from) throws SQLException {
+        List<String> dependents = new ArrayList<>();
+        long sequence = 0;
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT sql FROM sqlite_master WHERE tbl_name = 'inventory_items' AND type IN ('index', 'trigger') AND sql IS NOT NULL")) {
+                while (rs.next()) {
+                    dependents.add(rs.getString(1));
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT seq FROM sqlite_sequence WHERE name = 'inventory_items'")) {
+                if (rs.next()) {
+                    sequence = rs.getLong(1);
+                }
+            }
+
+            stmt.execute("""
+                CREATE TABLE inventory_items_new (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    name TEXT NOT NULL,
+                    description TEXT,
+                    category TEXT,
+                    quantity INTEGER NOT NULL DEFAULT 0,
+                    price REAL NOT NULL DEFAULT 0.0,
+                    supplier TEXT,
+                    created_at %1$s NOT NULL,
+                    updated_at %1$s NOT NULL
+                )
+            """.formatted(columnType));
+        }
+
+        int rows = 0;
+        int batchSize = DatabaseConfig.getInt("db.batch.size", 500);
+        try (Statement select = conn.createStatement();
+             ResultSet rs = select.executeQuery(
+                     "SELECT id, name, description, category, quantity, price, supplier, created_at, updated_at FROM inventory_items");
+             PreparedStatement insert = conn.prepareStatement(
+                     "INSERT INTO inventory_items_new (id, name, description, category, quantity, price, supplier, created_at, updated_at) "
+                             + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            while (rs.next()) {
+                for (int column = 1; column <= 7; column++) {
+                    insert.setObject(column, rs.getObject(column));
+                }
+                bind(insert, 8, from.read(rs, 8));
+                bind(insert, 9, from.read(rs, 9));
+                insert.addBatch();
+                if (++rows % batchSize == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        // Dropping the table also drops its indexes and triggers; recreate them on the new table
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE inventory_items");
+            stmt.execute("ALTER TABLE inventory_items_new RENAME TO inventory_items");
+            for (String sql : dependents) {
+                stmt.execute(sql);
+            }
+        }
+        // Keep AUTOINCREMENT from reusing ids of rows deleted before the conversion
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "UPDATE sqlite_sequence SET seq = MAX(seq, ?) WHERE name = 'inventory_items'")) {
+            pstmt.setLong(1, sequence);
+            pstmt.executeUpdate();
+        }
+        return rows;
+    }
+
+    private static String declaredType(Connection conn, String table, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return rs.getString("type");
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.inventoryapp;
+
+import com.inventoryapp.util.CSVExporter;
+import com.inventoryapp.util.CsvReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * CSV quoting used by exports and the import rejects file
+ */
+public class CSVExporterTest {
+
+    @Test
+    public void leavesPlainFieldsUnquoted() throws IOException {
+        assertEquals("Widget 12", field("Widget 12"));
+        assertEquals("", field(""));
+    }
+
+    @Test
+    public void writesNullAsEmpty() throws IOException {
+        assertEquals("", field(null));
+    }
+
+    @Test
+    public void quotesFieldsWithSeparators() throws IOException {
+        assertEquals("\"a,b\"", field("a,b"));
+        assertEquals("\"two\nlines\"", field("two\nlines"));
+        assertEquals("\"cr\rhere\"", field("cr\rhere"));
+    }
+
+    @Test
+    public void doublesQuotes() throws IOException {
+        assertEquals("\"12\"\" ruler\"", field("12\" ruler"));
+        assertEquals("\"\"\"\"\"\"", field("\"\""));
+    }
+
+    @Test
+    public void writesRecordsWithCrLf() throws IOException {
+        StringWriter out = new StringWriter();
+        CSVExporter.writeRecord(out, Arrays.asList(7, null, "a,b", 1.5));
+        assertEquals("7,,\"a,b\",1.5\r\n", out.toString());
+    }
+
+    @Test
+    public void readerGetsBackWhatWasWritten() throws IOException {
+        List<String> fields = List.of("plain", "", "comma, inside", "quote \" inside", "line\r\nbreak", "\"");
+        StringWriter out = new StringWriter();
+        CSVExporter.writeRecord(out, fields);
+        CSVExporter.writeRecord(out, List.of("next"));
+
+        try (CsvReader reader = new CsvReader(new StringReader(out.toString()))) {
+            assertEquals(fields, reader.next());
+            assertEquals(List.of("next"), reader.next());
+        }
+    }
+
+    private static String field(String value) throws IOException {
+        StringWriter out = new StringWriter();
+        CSVExporter.writeField(out, value);
+        return out.toString();
+    }
+}
@@ -0,0 +1,104 @@
+package com.inventoryapp;
+
+import com.inventoryapp.util.CsvReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parsing rules of the streaming CSV reader
+ */
+public class CsvReaderTest {
+
+    @Test
+    public void splitsPlainFields() throws IOException {
+        assertEquals(List.of(List.of("a", "b", "c"), List.of("1", "", "3", "")),
+                readAll("a,b,c\n1,,3,\n"));
+    }
+
+    @Test
+    public void readsLastRecordWithoutLineBreak() throws IOException {
+        assertEquals(List.of(List.of("a"), List.of("b", "c")), readAll("a\r\nb,c"));
+    }
+
+    @Test
+    public void emptyInputHasNoRecords() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader(""))) {
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void keepsCommasInQuotedFields() throws IOException {
+        assertEquals(List.of(List.of("Widget, large", "x")), readAll("\"Widget, large\",x\n"));
+    }
+
+    @Test
+    public void unescapesDoubledQuotes() throws IOException {
+        assertEquals(List.of(List.of("12\" ruler", "\"")), readAll("\"12\"\" ruler\",\"\"\"\"\n"));
+    }
+
+    @Test
+    public void keepsLineBreaksInQuotedFields() throws IOException {
+        assertEquals(List.of(List.of("line one\r\nline two", "b"), List.of("c")),
+                readAll("\"line one\r\nline two\",b\r\nc\r\n"));
+    }
+
+    @Test
+    public void quotesInsideUnquotedFieldsAreLiteral() throws IOException {
+        assertEquals(List.of(List.of("5\" pipe", "x")), readAll("5\" pipe,x\n"));
+    }
+
+    @Test
+    public void skipsByteOrderMarkAtStartOnly() throws IOException {
+        assertEquals(List.of(List.of("name"), List.of("\uFEFFvalue")), readAll("\uFEFFname\n\uFEFFvalue\n"));
+    }
+
+    @Test
+    public void reportsLineWhereEachRecordStarts() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader("h\n\"multi\nline\"\r\nnext\n\nlast\n"))) {
+            reader.next();
+            assertEquals(1, reader.getRecordLine());
+            reader.next();
+            assertEquals(2, reader.getRecordLine());
+            assertEquals(List.of("next"), reader.next());
+            assertEquals(4, reader.getRecordLine());
+            assertEquals(List.of(""), reader.next());
+            assertEquals(5, reader.getRecordLine());
+            assertEquals(List.of("last"), reader.next());
+            assertEquals(6, reader.getRecordLine());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void rejectsUnterminatedQuote() {
+        IOException error = assertThrows(IOException.class, () -> readAll("a\n\"open,b\nc\n"));
+        assertTrue(error.getMessage().contains("line 2"), error.getMessage());
+    }
+
+    @Test
+    public void readsRecordsLargerThanItsBuffer() throws IOException {
+        String longField = "x".repeat(200_000);
+        assertEquals(List.of(List.of(longField, "y"), List.of("z")), readAll("\"" + longField + "\",y\nz\n"));
+    }
+
+    private static List<List<String>> readAll(String text) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(text))) {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,131 @@
+package com.inventoryapp;
+
+import com.inventoryapp.model.ReportCursor;
+import com.inventoryapp.util.PdfExporter;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Retained heap and time of PdfExporter as the row count grows.
+ * Rows are generated on the fly, so only the exporter's own memory shows up.
+ * At ten evenly spaced rows the benchmark forces a GC and reads the live heap,
+ * so garbage not yet collected does not count; "retained" is the largest of
+ * those readings minus the live heap before the export. The forced GCs are
+ * included in the times. Run with a small heap to see it stay flat, e.g.
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.inventoryapp.PdfExportBenchmark -Dexec.args="10000 50000 200000"
+ * (or java -Xmx128m -cp ... com.inventoryapp.PdfExportBenchmark).
+ */
+public class PdfExportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        long[] rowCounts = args.length > 0
+                ? Stream.of(args).mapToLong(Long::parseLong).toArray()
+                : new long[] {10_000, 50_000, 100_000, 200_000};
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        // Warm up the exporter once so JIT and class loading are not measured
+        run(2_000, memory);
+
+        System.out.printf("%10s %10s %12s %16s %12s%n", "rows", "ms", "rows/s", "retained MB", "file MB");
+        for (long rows : rowCounts) {
+            Result result = run(rows, memory);
+            System.out.printf("%10d %10d %12.0f %16.1f %12.1f%n", rows, result.millis,
+                    rows * 1000.0 / Math.max(1, result.millis), result.retainedHeap / 1048576.0, result.fileSize / 1048576.0);
+        }
+    }
+
+    private static Result run(long rows, MemoryMXBean memory) throws Exception {
+        File file = File.createTempFile("pdf-export-benchmark", ".pdf");
+        file.deleteOnExit();
+        long baseline = liveHeap(memory);
+
+        GeneratedRows cursor = new GeneratedRows(rows, Math.max(1, rows / 10), () -> liveHeap(memory) - baseline);
+        long start = System.nanoTime();
+        PdfExporter.export(file.getAbsolutePath(), cursor);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        long size = file.length();
+        file.delete();
+        return new Result(millis, cursor.maxRetained, size);
+    }
+
+    // Heap in use right after a full collection
+    private static long liveHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // Synthetic rows that also sample the retained heap every sampleEvery rows
+    private static class GeneratedRows implements ReportCursor {
+        private final LocalDate today = LocalDate.now();
+        private final long rows;
+        private final long sampleEvery;
+        private final LongSupplier retained;
+        private long row = -1;
+        private long maxRetained;
+
+        private GeneratedRows(long rows, long sampleEvery, LongSupplier retained) {
+            this.rows = rows;
+            this.sampleEvery = sampleEvery;
+            this.retained = retained;
+        }
+
+        @Override
+        public boolean next() {
+            if (++row >= rows) {
+                return false;
+            }
+            if (row > 0 && row % sampleEvery == 0) {
+                maxRetained = Math.max(maxRetained, retained.getAsLong());
+            }
+            return true;
+        }
+
+        @Override
+        public int getId() {
+            return (int) row + 1;
+        }
+
+        @Override
+        public String getName() {
+            return "Item " + row;
+        }
+
+        @Override
+        public int getQuantity() {
+            return (int) (row % 500);
+        }
+
+        @Override
+        public double getPrice() {
+            return (row % 10_000) / 4.0;
+        }
+
+        @Override
+        public LocalDate getAddedDate() {
+            return today;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class Result {
+        private final long millis;
+        private final long retainedHeap;
+        private final long fileSize;
+
+        private Result(long millis, long retainedHeap, long fileSize) {
+            this.millis = millis;
+            this.retainedHeap = retainedHeap;
+            this.fileSize = fileSize;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.inventoryapp;
+
+import com.inventoryapp.model.ItemReportRow;
+import com.inventoryapp.model.ReportCursor;
+import com.inventoryapp.service.ReportSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Report snapshots keep only the preview rows in a list but give exports every row
+ */
+public class ReportSnapshotTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Test
+    public void previewHoldsOnlyTheFirstRowsInMemory() throws IOException {
+        try (ReportSnapshot snapshot = build(250, 10, 1000)) {
+            assertFalse(snapshot.isSpilled());
+            assertEquals(250, snapshot.getRowCount());
+            assertEquals(10, snapshot.getFirstRows().size());
+            assertEquals("Item 9", snapshot.getFirstRows().get(9).getName());
+            assertEveryRow(snapshot, 250);
+        }
+    }
+
+    @Test
+    public void previewHoldsOnlyTheFirstRowsOnceSpilled() throws IOException {
+        try (ReportSnapshot snapshot = build(5000, 10, 100)) {
+            assertTrue(snapshot.isSpilled());
+            assertEquals(5000, snapshot.getRowCount());
+            assertEquals(10, snapshot.getFirstRows().size());
+            assertEquals("Item 0", snapshot.getFirstRows().get(0).getName());
+            assertEveryRow(snapshot, 5000);
+        }
+    }
+
+    @Test
+    public void closedSpilledSnapshotRefusesNewReaders() throws IOException {
+        ReportSnapshot snapshot = build(500, 10, 100);
+        snapshot.close();
+
+        assertThrows(IOException.class, snapshot::cursor);
+    }
+
+    @Test
+    public void retainedSnapshotStaysReadableAfterClose() throws IOException {
+        ReportSnapshot snapshot = build(500, 10, 100);
+        snapshot.retain();
+        snapshot.close();
+
+        assertEveryRow(snapshot, 500);
+        snapshot.release();
+        assertThrows(IOException.class, snapshot::cursor);
+        assertThrows(IOException.class, snapshot::retain);
+    }
+
+    private static ReportSnapshot build(int rows, int firstRows, int memoryRows) throws IOException {
+        ReportSnapshot.Builder builder = new ReportSnapshot.Builder("Full Inventory", null, null, "All", true,
+                firstRows, memoryRows);
+        for (int i = 0; i < rows; i++) {
+            builder.add(row(i));
+        }
+        return builder.build();
+    }
+
+    // Every third row has no name and no date, to cover the nulls
+    private static ItemReportRow row(int i) {
+        return i % 3 == 2
+                ? new ItemReportRow(i, null, i, i / 4.0, null)
+                : new ItemReportRow(i, "Item " + i, i, i / 4.0, DAY.plusDays(i % 40));
+    }
+
+    private static void assertEveryRow(ReportSnapshot snapshot, int rows) throws IOException {
+        try (ReportCursor cursor = snapshot.cursor()) {
+            for (int i = 0; i < rows; i++) {
+                assertTrue(cursor.next());
+                ItemReportRow expected = row(i);
+                assertEquals(expected.getId(), cursor.getId());
+                assertEquals(expected.getName(), cursor.getName());
+                assertEquals(expected.getQuantity(), cursor.getQuantity());
+                assertEquals(expected.getPrice(), cursor.getPrice());
+                assertEquals(expected.getAddedDate(), cursor.getAddedDate());
+            }
+            assertFalse(cursor.next());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.inventoryapp;
+
+import com.inventoryapp.util.SchemaMigrator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Upgrades of a database created with the original schema
+ */
+public class SchemaMigratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void renamesDuplicateNamesWithoutCollisions() throws SQLException {
+        try (Connection conn = openBaseline("Widget", "widget", "widget (2)", "Gadget")) {
+            SchemaMigrator.migrate(conn);
+
+            assertEquals(List.of("Widget", "widget (2-2)", "widget (2)", "Gadget"), names(conn));
+            assertTrue(SchemaMigrator.getCurrentVersion(conn) >= 5);
+            assertTrue(tableExists(conn, "stock_movements"));
+            assertTrue(tableExists(conn, "stock_snapshots"));
+        }
+    }
+
+    @Test
+    public void leavesDistinctNamesAlone() throws SQLException {
+        try (Connection conn = openBaseline("Apple", "Äpfel", "äpfel")) {
+            SchemaMigrator.migrate(conn);
+
+            // NOCASE only folds ASCII, so these are different names
+            assertEquals(List.of("Apple", "Äpfel", "äpfel"), names(conn));
+        }
+    }
+
+    @Test
+    public void enforcesUniqueNamesAfterMigration() throws SQLException {
+        try (Connection conn = openBaseline("Widget")) {
+            SchemaMigrator.migrate(conn);
+
+            assertThrows(SQLException.class, () -> insert(conn, "WIDGET"));
+        }
+    }
+
+    @Test
+    public void secondRunChangesNothing() throws SQLException {
+        try (Connection conn = openBaseline("Widget", "widget")) {
+            SchemaMigrator.migrate(conn);
+            int version = SchemaMigrator.getCurrentVersion(conn);
+            List<String> names = names(conn);
+
+            SchemaMigrator.migrate(conn);
+
+            assertEquals(version, SchemaMigrator.getCurrentVersion(conn));
+            assertEquals(names, names(conn));
+        }
+    }
+
+    // Fresh database with the inventory table as first released, holding the given names
+    private Connection openBaseline(String... names) throws SQLException {
+        Connection conn = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("baseline.db"));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE inventory_items (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    name TEXT NOT NULL,
+                    description TEXT,
+                    category TEXT,
+                    quantity INTEGER NOT NULL DEFAULT 0,
+                    price REAL NOT NULL DEFAULT 0.0,
+                    supplier TEXT,
+                    created_at DATETIME NOT NULL,
+                    updated_at DATETIME NOT NULL
+                )
+            """);
+        }
+        for (String name : names) {
+            insert(conn, name);
+        }
+        return conn;
+    }
+
+    private static void insert(Connection conn, String name) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO inventory_items (name, quantity, created_at, updated_at) "
+                        + "VALUES (?, 1, '2024-01-01 00:00:00', '2024-01-01 00:00:00')")) {
+            pstmt.setString(1, name);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static List<String> names(Connection conn) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT name FROM inventory_items ORDER BY id")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            pstmt.setString(1, table);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
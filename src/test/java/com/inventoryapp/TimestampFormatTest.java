@@ -0,0 +1,95 @@
+package com.inventoryapp;
+
+import com.inventoryapp.util.TimestampFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Converting inventory_items timestamps between text and epoch storage
+ */
+public class TimestampFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void convertsTextTimestampsToEpoch() throws SQLException {
+        try (Connection conn = openTextTable("2024-01-01 10:00:00")) {
+            TimestampFormat.EPOCH_MILLIS.migrate(conn);
+
+            assertEquals("INTEGER", columnType(conn));
+            assertEquals(1, count(conn, "SELECT COUNT(*) FROM inventory_items WHERE typeof(created_at) = 'integer'"));
+        }
+    }
+
+    @Test
+    public void malformedTimestampLeavesTableUnchanged() throws SQLException {
+        try (Connection conn = openTextTable("2024-01-01 10:00:00", "not a date")) {
+            assertThrows(SQLException.class, () -> TimestampFormat.EPOCH_MILLIS.migrate(conn));
+
+            assertEquals("TEXT", columnType(conn));
+            assertEquals(2, count(conn, "SELECT COUNT(*) FROM inventory_items"));
+            assertEquals(0, count(conn, "SELECT COUNT(*) FROM sqlite_master WHERE name = 'inventory_items_new'"));
+            assertTrue(conn.getAutoCommit());
+
+            // A second attempt fails the same way instead of on a leftover table
+            SQLException again = assertThrows(SQLException.class, () -> TimestampFormat.EPOCH_MILLIS.migrate(conn));
+            assertFalse(again.getMessage().contains("already exists"));
+        }
+    }
+
+    private Connection openTextTable(String... createdAt) throws SQLException {
+        Connection conn = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("timestamps.db"));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE inventory_items (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    name TEXT NOT NULL,
+                    description TEXT,
+                    category TEXT,
+                    quantity INTEGER NOT NULL DEFAULT 0,
+                    price REAL NOT NULL DEFAULT 0.0,
+                    supplier TEXT,
+                    created_at TEXT NOT NULL,
+                    updated_at TEXT NOT NULL
+                )
+            """);
+            for (int i = 0; i < createdAt.length; i++) {
+                stmt.execute("INSERT INTO inventory_items (name, created_at, updated_at) VALUES ('Item " + i + "', '"
+                        + createdAt[i] + "', '2024-01-01 10:00:00')");
+            }
+        }
+        return conn;
+    }
+
+    private static String columnType(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(inventory_items)")) {
+            while (rs.next()) {
+                if ("created_at".equals(rs.getString("name"))) {
+                    return rs.getString("type");
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int count(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}